@@ -0,0 +1,19 @@
+package org.example.core;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {
+    }
+
+    /**
+     * Per-pair overlaps are only logged at debug level, which is off, but every analysis still logs its
+     * timings, detected date formats and rejected rows at info and warn level through the async appender.
+     * Raising the level keeps that logging out of the measured time, so the numbers cover the computation.
+     */
+    static void quiet() {
+        Configurator.setLevel("org.example", Level.ERROR);
+    }
+}
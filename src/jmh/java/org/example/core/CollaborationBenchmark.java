@@ -0,0 +1,49 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole pipeline after parsing: grouping, merging, overlaps and ranking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollaborationBenchmark {
+
+    @Param({"10000"})
+    private int employees;
+
+    @Param({"500"})
+    private int projects;
+
+    @Param({"5"})
+    private int assignmentsPerEmployee;
+
+    @Param({"PAIRWISE", "SWEEP_LINE", "BITSET", "ADAPTIVE"})
+    private OverlapEngine engine;
+
+    private WorkDurationStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        store = new SyntheticDataGenerator(employees, projects, assignmentsPerEmployee, 15 * 365, 400, 42)
+                .generateStore();
+    }
+
+    @Benchmark
+    public Object findLongestCollaboration() {
+        return Main.findLongestCollaboration(store, engine);
+    }
+
+    @Benchmark
+    public Object findTopCollaborations() {
+        return Main.findTopCollaborations(store, 100, engine);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.core;
+
+import org.example.util.DateParser;
+import org.example.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.util.Constants.DATE_FROM_COLUMN;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParseBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private final String[] isoDates = new String[SAMPLES];
+    private final String[] europeanDates = new String[SAMPLES];
+    private DateParser dateParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        var random = new Random(42);
+        var european = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        for (var i = 0; i < SAMPLES; i++) {
+            var date = LocalDate.of(2005, 1, 1).plusDays(random.nextInt(15 * 365));
+            isoDates[i] = " " + date;
+            europeanDates[i] = " " + european.format(date);
+        }
+        dateParser = new DateParser();
+        dateParser.finishDetection();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void parseDateIso(Blackhole blackhole) {
+        for (var date : isoDates) {
+            blackhole.consume(DateUtil.parseDate(date.trim()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void parseDateEuropean(Blackhole blackhole) {
+        for (var date : europeanDates) {
+            blackhole.consume(DateUtil.parseDate(date.trim()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void parseEpochDayIso(Blackhole blackhole) {
+        for (var date : isoDates) {
+            blackhole.consume(dateParser.parseEpochDay(DATE_FROM_COLUMN, date));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging one employee's intervals. The packed input is copied first because the merge sorts it in place;
+ * the copy is part of the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"10", "1000"})
+    private int intervals;
+
+    private long[] packed;
+    private long[] scratch;
+    private int[] from;
+    private int[] to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        var random = new Random(42);
+        packed = new long[intervals];
+        for (var i = 0; i < intervals; i++) {
+            var start = random.nextInt(15 * 365);
+            packed[i] = Main.packInterval(start, start + random.nextInt(60));
+        }
+        scratch = new long[intervals];
+        from = new int[intervals];
+        to = new int[intervals];
+    }
+
+    @Benchmark
+    public int mergeIntervalsForOneEmployee() {
+        System.arraycopy(packed, 0, scratch, 0, intervals);
+        return Main.mergeIntervalsForOneEmployee(scratch, intervals, from, to, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private byte[] csv;
+    private Path csvFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkLogging.quiet();
+        csv = new SyntheticDataGenerator(rows / 10, rows / 100, 10, 15 * 365, 400, 42).generateCsv();
+        csvFile = Files.createTempFile("parse-benchmark", ".csv");
+        Files.write(csvFile, csv);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public Object parseCsvContent() {
+        return Main.parseCsvContent(new ByteArrayInputStream(csv));
+    }
+
+    @Benchmark
+    public Object parseCsvContentToStore() {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream(csv));
+    }
+
+    @Benchmark
+    public Object parseCsvFileMapped() {
+        return Main.parseCsvFile(csvFile, 1);
+    }
+
+    @Benchmark
+    public Object parseCsvFileParallel() {
+        return Main.parseCsvFile(csvFile, Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One project with {@code assignees} employees, each assigned three times over five years.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectBenchmark {
+
+    @Param({"100", "2000"})
+    private int assignees;
+
+    @Param({"PAIRWISE", "SWEEP_LINE", "BITSET", "ADAPTIVE"})
+    private OverlapEngine engine;
+
+    private WorkDurationStore store;
+    private int[] rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        store = new SyntheticDataGenerator(assignees, 1, 3, 5 * 365, 120, 42).generateStore();
+        rows = Main.groupWorkDurationsByProject(store).getFirst();
+    }
+
+    @Benchmark
+    public PairProjectOverlapMap processOneProject() {
+        var overlaps = new PairProjectOverlapMap();
+        Main.processOneProject(store, rows, overlaps, engine);
+        return overlaps;
+    }
+}
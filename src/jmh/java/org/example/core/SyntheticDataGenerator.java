@@ -0,0 +1,72 @@
+package org.example.core;
+
+import org.example.model.WorkDurationSink;
+import org.example.model.WorkDurationStore;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic assignments for the benchmarks: {@code employees} employees, each with
+ * {@code assignmentsPerEmployee} assignments spread over {@code projects} projects. Assignments start anywhere
+ * in a window of {@code dateSpreadDays} and last up to {@code maxAssignmentDays}, so together they control how
+ * dense the projects are and how much intervals overlap.
+ */
+public class SyntheticDataGenerator {
+    private static final LocalDate FIRST_START = LocalDate.of(2005, 1, 1);
+    private static final String HEADER = "EmpID,ProjectID,DateFrom,DateTo\n";
+
+    private final int employees;
+    private final int projects;
+    private final int assignmentsPerEmployee;
+    private final int dateSpreadDays;
+    private final int maxAssignmentDays;
+    private final long seed;
+
+    public SyntheticDataGenerator(int employees, int projects, int assignmentsPerEmployee,
+                                  int dateSpreadDays, int maxAssignmentDays, long seed) {
+        this.employees = employees;
+        this.projects = projects;
+        this.assignmentsPerEmployee = assignmentsPerEmployee;
+        this.dateSpreadDays = dateSpreadDays;
+        this.maxAssignmentDays = maxAssignmentDays;
+        this.seed = seed;
+    }
+
+    public int rowCount() {
+        return employees * assignmentsPerEmployee;
+    }
+
+    public WorkDurationStore generateStore() {
+        var store = new WorkDurationStore(rowCount());
+        generate((empId, projectId, from, to) -> store.add(empId, projectId, from, to));
+        return store;
+    }
+
+    /**
+     * The same rows as {@link #generateStore()}, as CSV with ISO dates.
+     */
+    public byte[] generateCsv() {
+        var csv = new StringBuilder(HEADER.length() + rowCount() * 32).append(HEADER);
+        generate((empId, projectId, from, to) -> csv
+                .append(empId).append(", ")
+                .append(projectId).append(", ")
+                .append(LocalDate.ofEpochDay(from)).append(", ")
+                .append(LocalDate.ofEpochDay(to)).append('\n'));
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void generate(WorkDurationSink sink) {
+        var random = new Random(seed);
+        var firstDay = (int) FIRST_START.toEpochDay();
+        for (var empId = 1; empId <= employees; empId++) {
+            for (var i = 0; i < assignmentsPerEmployee; i++) {
+                var projectId = 1 + random.nextInt(projects);
+                var from = firstDay + random.nextInt(dateSpreadDays);
+                var to = from + random.nextInt(maxAssignmentDays);
+                sink.add(empId, projectId, from, to);
+            }
+        }
+    }
+}
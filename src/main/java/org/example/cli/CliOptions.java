@@ -0,0 +1,191 @@
+package org.example.cli;
+
+import org.example.core.OverlapEngine;
+import org.example.core.ParallelCsvParser;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.example.util.CliConstants.*;
+import static org.example.util.ErrorConstants.*;
+import static org.example.util.ServerConstants.DEFAULT_MAX_CONCURRENT_ANALYSES;
+import static org.example.util.ServerConstants.DEFAULT_MAX_UPLOAD_BYTES;
+import static org.example.util.ServerConstants.DEFAULT_SERVER_HOST;
+
+/**
+ * Batch mode settings parsed from the command line.
+ *
+ * @param inputs   files, directories or globs, expanded by {@link org.example.core.InputFiles}
+ * @param output   {@code null} for standard output
+ * @param topK     {@link Integer#MAX_VALUE} to write every collaborating pair
+ * @param metrics  where to write the pipeline metrics as JSON, {@code null} for none
+ * @param employee only rank the pairs of this employee, {@code null} to rank all pairs
+ * @param from     with {@code employee}, first day counted, {@code null} for no lower bound
+ * @param to       with {@code employee}, last day counted, {@code null} for no upper bound
+ * @param port     serve analyses over HTTP on this port instead of reading inputs, {@code null} for batch mode
+ * @param host     with {@code port}, the address to listen on
+ * @param maxUploadBytes with {@code port}, larger uploads are refused
+ * @param memoryBudget   rank through temporary files within about this many bytes of heap, see
+ *                       {@link org.example.core.ExternalCollaborationEngine}; {@code null} to rank in memory
+ * @param spillDirectory with {@code memoryBudget}, where the temporary files go, {@code null} for the default
+ */
+public record CliOptions(List<String> inputs,
+                         Path output,
+                         OutputFormat format,
+                         int topK,
+                         int threads,
+                         OverlapEngine engine,
+                         Path metrics,
+                         Integer employee,
+                         LocalDate from,
+                         LocalDate to,
+                         Integer port,
+                         String host,
+                         int maxAnalyses,
+                         long maxUploadBytes,
+                         Long memoryBudget,
+                         Path spillDirectory,
+                         boolean help) {
+
+    public static CliOptions parse(String[] args) {
+        var inputs = new ArrayList<String>();
+        Path output = null;
+        OutputFormat format = null;
+        var topK = Integer.MAX_VALUE;
+        var threads = ParallelCsvParser.defaultParallelism();
+        var engine = OverlapEngine.fromSystemProperty();
+        Path metrics = null;
+        Integer employee = null;
+        LocalDate from = null;
+        LocalDate to = null;
+        Integer port = null;
+        var host = DEFAULT_SERVER_HOST;
+        var maxAnalyses = DEFAULT_MAX_CONCURRENT_ANALYSES;
+        var maxUploadBytes = DEFAULT_MAX_UPLOAD_BYTES;
+        Long memoryBudget = null;
+        Path spillDirectory = null;
+
+        for (var i = 0; i < args.length; i++) {
+            var arg = args[i];
+            switch (arg) {
+                case HELP_OPTION -> {
+                    return new CliOptions(List.of(), null, OutputFormat.CSV, topK, threads, engine, null, null, null, null,
+                            null, host, maxAnalyses, maxUploadBytes, null, null, true);
+                }
+                case INPUT_OPTION -> inputs.add(valueOf(args, ++i, arg));
+                case OUTPUT_OPTION -> output = Path.of(valueOf(args, ++i, arg));
+                case FORMAT_OPTION -> format = parseEnum(OutputFormat.class, valueOf(args, ++i, arg), arg);
+                case TOP_OPTION -> topK = parsePositive(valueOf(args, ++i, arg), arg);
+                case THREADS_OPTION -> threads = parsePositive(valueOf(args, ++i, arg), arg);
+                case ENGINE_OPTION -> engine = parseEnum(OverlapEngine.class, valueOf(args, ++i, arg), arg);
+                case METRICS_OPTION -> metrics = Path.of(valueOf(args, ++i, arg));
+                case EMPLOYEE_OPTION -> employee = parseId(valueOf(args, ++i, arg), arg);
+                case FROM_OPTION -> from = parseDate(valueOf(args, ++i, arg), arg);
+                case TO_OPTION -> to = parseDate(valueOf(args, ++i, arg), arg);
+                case SERVE_OPTION -> port = parseId(valueOf(args, ++i, arg), arg);
+                case HOST_OPTION -> host = valueOf(args, ++i, arg).trim();
+                case MAX_ANALYSES_OPTION -> maxAnalyses = parsePositive(valueOf(args, ++i, arg), arg);
+                case MAX_UPLOAD_OPTION -> maxUploadBytes = parseSize(valueOf(args, ++i, arg), arg, MIN_UPLOAD_LIMIT);
+                case MEMORY_BUDGET_OPTION -> memoryBudget = parseSize(valueOf(args, ++i, arg), arg, MIN_MEMORY_BUDGET);
+                case SPILL_DIR_OPTION -> spillDirectory = Path.of(valueOf(args, ++i, arg));
+                default -> {
+                    if (arg.startsWith(OPTION_PREFIX)) {
+                        throw new IllegalArgumentException(String.format(UNKNOWN_OPTION, arg));
+                    }
+                    inputs.add(arg);
+                }
+            }
+        }
+
+        if (inputs.isEmpty() && port == null) {
+            throw new IllegalArgumentException(NO_INPUT_FILES);
+        }
+        if (employee == null && (from != null || to != null)) {
+            throw new IllegalArgumentException(PERIOD_WITHOUT_EMPLOYEE);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException(String.format(INVALID_PERIOD, from, to));
+        }
+        if (memoryBudget != null && employee != null) {
+            throw new IllegalArgumentException(MEMORY_BUDGET_WITH_EMPLOYEE);
+        }
+        if (spillDirectory != null && memoryBudget == null) {
+            throw new IllegalArgumentException(SPILL_DIR_WITHOUT_MEMORY_BUDGET);
+        }
+        if (format == null) {
+            format = OutputFormat.forPath(output);
+        }
+        return new CliOptions(List.copyOf(inputs), output, format, topK, threads, engine, metrics, employee, from, to,
+                port, host, maxAnalyses, maxUploadBytes, memoryBudget, spillDirectory, false);
+    }
+
+    private static String valueOf(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(String.format(MISSING_OPTION_VALUE, option));
+        }
+        return args[index];
+    }
+
+    private static int parsePositive(String value, String option) {
+        try {
+            var number = Integer.parseInt(value.trim());
+            if (number >= 1) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_OPTION_NUMBER, option, value));
+    }
+
+    private static int parseId(String value, String option) {
+        try {
+            var id = Integer.parseInt(value.trim());
+            if (id >= 0) {
+                return id;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_OPTION_VALUE, option, value));
+    }
+
+    /**
+     * Bytes, or kibibytes, mebibytes or gibibytes with a {@code k}, {@code m} or {@code g} suffix; at least
+     * {@code minimum} bytes.
+     */
+    private static long parseSize(String value, String option, long minimum) {
+        var text = value.trim().toLowerCase(Locale.ROOT);
+        var unit = text.isEmpty() ? -1 : SIZE_SUFFIXES.indexOf(text.charAt(text.length() - 1));
+        var shift = (unit + 1) * 10;
+        try {
+            var number = Long.parseLong(unit < 0 ? text : text.substring(0, text.length() - 1));
+            if (number <= Long.MAX_VALUE >> shift && number << shift >= minimum) {
+                return number << shift;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_SIZE, option, minimum, value));
+    }
+
+    private static LocalDate parseDate(String value, String option) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(INVALID_OPTION_VALUE, option, value));
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String option) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(INVALID_OPTION_VALUE, option, value));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.cli;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.core.AnalysisProgress;
+import org.example.core.ExternalCollaborationEngine;
+import org.example.core.InputFiles;
+import org.example.core.Main;
+import org.example.core.WorkIntervalIndex;
+import org.example.metrics.PipelineMetrics;
+import org.example.server.CollaborationServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.example.util.CliConstants.*;
+import static org.example.util.ErrorConstants.ANALYSIS_FAIL;
+import static org.example.util.LoggingConstants.BATCH_FAILED;
+import static org.example.util.LoggingConstants.BATCH_RESULTS_WRITTEN;
+import static org.example.util.LoggingConstants.METRICS_WRITTEN;
+
+/**
+ * Headless batch mode: parses the input files, ranks the collaborations and streams them to the output
+ * as they are ranked. With {@code --employee} only that employee's pairs are ranked, looked up in a
+ * {@link WorkIntervalIndex}. With {@code --memory-budget} the ranking is sorted through temporary files by an
+ * {@link ExternalCollaborationEngine}, for inputs larger than the heap. With {@code --serve} the same analysis
+ * is offered over HTTP instead, see {@link CollaborationServer}. Nothing here touches AWT or Swing, so it runs on servers without a display.
+ */
+@Log4j2
+public class CollaborationCli {
+    private static final String STANDARD_OUTPUT = "standard output";
+
+    private CollaborationCli() {
+    }
+
+    /**
+     * @return the process exit code
+     */
+    public static int run(String[] args) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.help()) {
+            System.out.println(USAGE);
+            return EXIT_SUCCESS;
+        }
+
+        try {
+            if (options.port() != null) {
+                serve(options);
+            } else {
+                run(options);
+            }
+            return EXIT_SUCCESS;
+        } catch (RuntimeException | IOException e) {
+            log.error(BATCH_FAILED, e.getMessage(), e);
+            return EXIT_FAILURE;
+        }
+    }
+
+    /**
+     * Parsing and the per-project overlap work run on a pool of {@link CliOptions#threads()} workers.
+     */
+    public static void run(CliOptions options) throws IOException {
+        var startTime = System.currentTimeMillis();
+        PipelineMetrics.get().reset();
+        var inputs = InputFiles.resolve(options.inputs());
+        var pool = new ForkJoinPool(options.threads());
+        try (var out = openOutput(options)) {
+            var writer = options.format().createWriter(out);
+            writer.writeHeader();
+
+            var written = pool.submit(() -> {
+                if (options.memoryBudget() != null) {
+                    var external = new ExternalCollaborationEngine(options.engine(), options.memoryBudget(),
+                            options.spillDirectory(), AnalysisProgress.NONE);
+                    try {
+                        var pairs = external.streamCollaborations(inputs, options.topK(), writer);
+                        return new long[]{pairs, external.getRecordCount()};
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                var workDurations = Main.loadWorkDurations(inputs, options.threads(), AnalysisProgress.NONE);
+                var pairs = options.employee() == null
+                        ? Main.streamCollaborations(workDurations, options.topK(), options.engine(), writer)
+                        : WorkIntervalIndex.build(workDurations).findCollaborators(options.employee(),
+                        options.from(), options.to(), options.topK(), writer);
+                return new long[]{pairs, workDurations.size()};
+            }).get();
+            writer.writeFooter();
+
+            log.info(BATCH_RESULTS_WRITTEN, written[0], written[1],
+                    options.output() == null ? STANDARD_OUTPUT : options.output(),
+                    System.currentTimeMillis() - startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ANALYSIS_FAIL, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ANALYSIS_FAIL, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        if (options.metrics() != null) {
+            writeMetrics(options.metrics());
+        }
+    }
+
+    /**
+     * Runs the HTTP service until the process is stopped.
+     */
+    public static void serve(CliOptions options) throws IOException {
+        var server = new CollaborationServer(new InetSocketAddress(options.host(), options.port()),
+                options.threads(), options.maxAnalyses(), options.maxUploadBytes(), options.engine());
+        var stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        server.start();
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.close();
+        }
+    }
+
+    private static void writeMetrics(Path target) throws IOException {
+        Files.writeString(target, PipelineMetrics.get().getJson() + System.lineSeparator(), StandardCharsets.UTF_8);
+        log.info(METRICS_WRITTEN, target);
+    }
+
+    /**
+     * Standard output is flushed but left open when the writer is closed.
+     */
+    private static Writer openOutput(CliOptions options) throws IOException {
+        if (options.output() == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(options.output()),
+                StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+    }
+}
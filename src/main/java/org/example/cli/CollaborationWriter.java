@@ -0,0 +1,39 @@
+package org.example.cli;
+
+import org.example.model.CollaborationSink;
+import org.example.model.PairScore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes each collaboration as soon as it is ranked. Write failures surface as {@link UncheckedIOException},
+ * since the analysis pushes rows through {@link CollaborationSink}.
+ */
+public abstract class CollaborationWriter implements CollaborationSink {
+    protected final Writer out;
+    private int rank;
+
+    protected CollaborationWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeHeader() throws IOException {
+    }
+
+    public void writeFooter() throws IOException {
+    }
+
+    @Override
+    public void accept(PairScore score, int[] projectIds, long[] projectDays) {
+        try {
+            writeRow(++rank, score, projectIds, projectDays);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void writeRow(int rank, PairScore score, int[] projectIds, long[] projectDays)
+            throws IOException;
+}
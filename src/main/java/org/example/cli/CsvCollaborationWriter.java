@@ -0,0 +1,47 @@
+package org.example.cli;
+
+import org.example.model.PairScore;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.example.util.CliConstants.*;
+
+/**
+ * One line per pair; the projects column lists {@code project:days} entries separated by {@code ;}.
+ */
+public class CsvCollaborationWriter extends CollaborationWriter {
+
+    public CsvCollaborationWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write(CSV_OUTPUT_HEADER);
+        out.write('\n');
+    }
+
+    @Override
+    protected void writeRow(int rank, PairScore score, int[] projectIds, long[] projectDays) throws IOException {
+        out.write(Integer.toString(rank));
+        out.write(',');
+        out.write(Integer.toString(score.emp1()));
+        out.write(',');
+        out.write(Integer.toString(score.emp2()));
+        out.write(',');
+        out.write(Long.toString(score.totalDays()));
+        out.write(',');
+        out.write(Long.toString(score.maxOverlap()));
+        out.write(',');
+        for (var i = 0; i < projectIds.length; i++) {
+            if (i > 0) {
+                out.write(PROJECT_SEPARATOR);
+            }
+            out.write(Integer.toString(projectIds[i]));
+            out.write(PROJECT_DAYS_SEPARATOR);
+            out.write(Long.toString(projectDays[i]));
+        }
+        out.write('\n');
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.cli;
+
+import org.example.model.PairScore;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A single JSON array of the objects {@link JsonLinesCollaborationWriter} writes, one per line.
+ */
+public class JsonCollaborationWriter extends JsonLinesCollaborationWriter {
+
+    public JsonCollaborationWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write('[');
+    }
+
+    @Override
+    protected void writeRow(int rank, PairScore score, int[] projectIds, long[] projectDays) throws IOException {
+        if (rank > 1) {
+            out.write(',');
+        }
+        out.write('\n');
+        writeObject(rank, score, projectIds, projectDays);
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        out.write("\n]\n");
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.cli;
+
+import org.example.model.PairScore;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One JSON object per line, e.g.
+ * {@code {"rank":1,"emp1":3,"emp2":7,"totalDays":120,"maxProjectDays":90,"projects":[{"project":10,"days":90}]}}.
+ * Every value is numeric, so no escaping is needed.
+ */
+public class JsonLinesCollaborationWriter extends CollaborationWriter {
+
+    public JsonLinesCollaborationWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeRow(int rank, PairScore score, int[] projectIds, long[] projectDays) throws IOException {
+        writeObject(rank, score, projectIds, projectDays);
+        out.write('\n');
+    }
+
+    protected void writeObject(int rank, PairScore score, int[] projectIds, long[] projectDays) throws IOException {
+        out.write("{\"rank\":");
+        out.write(Integer.toString(rank));
+        out.write(",\"emp1\":");
+        out.write(Integer.toString(score.emp1()));
+        out.write(",\"emp2\":");
+        out.write(Integer.toString(score.emp2()));
+        out.write(",\"totalDays\":");
+        out.write(Long.toString(score.totalDays()));
+        out.write(",\"maxProjectDays\":");
+        out.write(Long.toString(score.maxOverlap()));
+        out.write(",\"projects\":[");
+        for (var i = 0; i < projectIds.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"project\":");
+            out.write(Integer.toString(projectIds[i]));
+            out.write(",\"days\":");
+            out.write(Long.toString(projectDays[i]));
+            out.write('}');
+        }
+        out.write("]}");
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.cli;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum OutputFormat {
+    CSV(".csv") {
+        @Override
+        public CollaborationWriter createWriter(Writer out) {
+            return new CsvCollaborationWriter(out);
+        }
+    },
+    JSONL(".jsonl") {
+        @Override
+        public CollaborationWriter createWriter(Writer out) {
+            return new JsonLinesCollaborationWriter(out);
+        }
+    },
+    JSON(".json") {
+        @Override
+        public CollaborationWriter createWriter(Writer out) {
+            return new JsonCollaborationWriter(out);
+        }
+    };
+
+    private final String extension;
+
+    OutputFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public abstract CollaborationWriter createWriter(Writer out);
+
+    /**
+     * The format matching the file extension, CSV for standard output or an unknown extension.
+     */
+    public static OutputFormat forPath(Path output) {
+        if (output != null) {
+            var fileName = output.getFileName().toString().toLowerCase(Locale.ROOT);
+            for (var format : values()) {
+                if (fileName.endsWith(format.extension)) {
+                    return format;
+                }
+            }
+        }
+        return CSV;
+    }
+}
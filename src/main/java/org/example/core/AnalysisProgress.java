@@ -0,0 +1,36 @@
+package org.example.core;
+
+import org.example.exception.AnalysisCancelledException;
+
+import static org.example.util.ErrorConstants.ANALYSIS_CANCELLED;
+
+/**
+ * Progress and cancellation hooks of the parse and overlap stages. The stages run on worker threads,
+ * so every method may be called concurrently and from any thread; implementations should be cheap.
+ * Cancellation is cooperative: the stages poll {@link #isCancelled()} between batches of rows and between
+ * projects, and stop with {@link AnalysisCancelledException}.
+ */
+public interface AnalysisProgress {
+    AnalysisProgress NONE = new AnalysisProgress() {
+    };
+
+    /**
+     * @param bytesRead  bytes of the file parsed so far
+     * @param rowsParsed lines parsed so far, including rejected ones
+     */
+    default void parseProgress(long bytesRead, long totalBytes, long rowsParsed) {
+    }
+
+    default void projectsDone(int done, int total) {
+    }
+
+    default boolean isCancelled() {
+        return false;
+    }
+
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new AnalysisCancelledException(ANALYSIS_CANCELLED);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.core;
+
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.model.EmployeePair;
+
+import static org.example.util.Constants.BITSET_MAX_WORDS;
+import static org.example.util.Constants.BITSET_WORDS_PER_SWEEP_COMPARISON;
+
+/**
+ * Overlap of a project's employees as day bitsets. Every employee's merged intervals become a {@code long[]}
+ * with one bit per day, covering only the words from the employee's first to last working day, and the
+ * overlap of two employees is the popcount of the AND of their common words. A pair costs one AND and one
+ * popcount per 64 days, however many intervals the two employees have, which suits projects with a short
+ * date span and employees who come and go often.
+ */
+final class BitsetOverlapCalculator {
+    private final ProjectTimeline timeline;
+    private final int[] firstWord;
+    private final int[] endWord;
+    private final int[] offset;
+    private final long[] days;
+
+    private BitsetOverlapCalculator(ProjectTimeline timeline) {
+        this.timeline = timeline;
+        var employees = timeline.employeeCount();
+        var firstDay = firstDay(timeline);
+        firstWord = new int[employees];
+        endWord = new int[employees];
+        offset = new int[employees];
+
+        var words = 0;
+        for (var employee = 0; employee < employees; employee++) {
+            firstWord[employee] = (timeline.fromEpochDay(timeline.intervalStart(employee)) - firstDay) >>> 6;
+            endWord[employee] = ((timeline.toEpochDay(timeline.intervalEnd(employee) - 1) - firstDay) >>> 6) + 1;
+            offset[employee] = words - firstWord[employee];
+            words += endWord[employee] - firstWord[employee];
+        }
+
+        days = new long[words];
+        for (var employee = 0; employee < employees; employee++) {
+            for (var i = timeline.intervalStart(employee); i < timeline.intervalEnd(employee); i++) {
+                setDays(offset[employee], timeline.fromEpochDay(i) - firstDay, timeline.toEpochDay(i) - firstDay);
+            }
+        }
+    }
+
+    static BitsetOverlapCalculator of(ProjectTimeline timeline) {
+        return new BitsetOverlapCalculator(timeline);
+    }
+
+    /**
+     * Whether the bitsets of the project stay within {@value org.example.util.Constants#BITSET_MAX_WORDS} words.
+     */
+    static boolean fits(ProjectTimeline timeline) {
+        return wordCount(timeline, firstDay(timeline)) <= BITSET_MAX_WORDS;
+    }
+
+    /**
+     * Compares rough costs in words: the sweep line compares every interval with the intervals active when it
+     * starts, on average as many as the project's working days divided by its span, and each comparison costs
+     * about {@value org.example.util.Constants#BITSET_WORDS_PER_SWEEP_COMPARISON} words. The bitsets cost
+     * their words to build plus, for every pair of employees, at most the words of an average employee.
+     */
+    static boolean isCheaperThanSweep(ProjectTimeline timeline) {
+        var firstDay = firstDay(timeline);
+        var words = wordCount(timeline, firstDay);
+        if (words > BITSET_MAX_WORDS) {
+            return false;
+        }
+
+        var lastDay = Integer.MIN_VALUE;
+        var workingDays = 0L;
+        for (var i = 0; i < timeline.intervalCount(); i++) {
+            lastDay = Math.max(lastDay, timeline.toEpochDay(i));
+            workingDays += timeline.toEpochDay(i) - timeline.fromEpochDay(i) + 1;
+        }
+        var span = (long) lastDay - firstDay + 1;
+        var sweepComparisons = timeline.intervalCount() * (1 + (double) workingDays / span);
+
+        var employees = (long) timeline.employeeCount();
+        var bitsetWords = words + employees * (employees - 1) / 2 * (1 + (double) words / employees);
+        return bitsetWords < sweepComparisons * BITSET_WORDS_PER_SWEEP_COMPARISON;
+    }
+
+    private static long wordCount(ProjectTimeline timeline, int firstDay) {
+        var words = 0L;
+        for (var employee = 0; employee < timeline.employeeCount(); employee++) {
+            words += ((timeline.toEpochDay(timeline.intervalEnd(employee) - 1) - firstDay) >>> 6)
+                    - ((timeline.fromEpochDay(timeline.intervalStart(employee)) - firstDay) >>> 6) + 1;
+        }
+        return words;
+    }
+
+    /**
+     * Compares every employee in {@code [fromEmployee, toEmployee)} with all employees after it,
+     * like {@link Main#accumulatePairwiseOverlaps}.
+     */
+    void accumulateOverlaps(int fromEmployee, int toEmployee, PairProjectOverlapMap overlaps) {
+        var employees = timeline.employeeCount();
+        var compared = 0L;
+        for (var i = fromEmployee; i < toEmployee; i++) {
+            for (var j = i + 1; j < employees; j++) {
+                var from = Math.max(firstWord[i], firstWord[j]);
+                var to = Math.min(endWord[i], endWord[j]);
+                if (from >= to) {
+                    continue;
+                }
+                compared++;
+                var overlap = commonDays(offset[i], offset[j], from, to);
+                if (overlap > 0) {
+                    var pairKey = EmployeePair.pack(timeline.employeeId(i), timeline.employeeId(j));
+                    Main.recordOverlap(timeline.getProjectId(), pairKey, overlap, overlaps);
+                }
+            }
+        }
+        PipelineMetrics.get().add(Counter.PAIRS_EVALUATED, compared);
+    }
+
+    private long commonDays(int offset1, int offset2, int from, int to) {
+        var count = 0L;
+        for (var word = from; word < to; word++) {
+            count += Long.bitCount(days[offset1 + word] & days[offset2 + word]);
+        }
+        return count;
+    }
+
+    /**
+     * Sets the bits of days {@code [from, to]}, counted from the project's first day, in the words starting
+     * at {@code base}.
+     */
+    private void setDays(int base, int from, int to) {
+        var fromWord = from >>> 6;
+        var toWord = to >>> 6;
+        var fromMask = -1L << from;
+        var toMask = -1L >>> (63 - (to & 63));
+        if (fromWord == toWord) {
+            days[base + fromWord] |= fromMask & toMask;
+            return;
+        }
+        days[base + fromWord] |= fromMask;
+        for (var word = fromWord + 1; word < toWord; word++) {
+            days[base + word] = -1L;
+        }
+        days[base + toWord] |= toMask;
+    }
+
+    private static int firstDay(ProjectTimeline timeline) {
+        var first = Integer.MAX_VALUE;
+        for (var employee = 0; employee < timeline.employeeCount(); employee++) {
+            first = Math.min(first, timeline.fromEpochDay(timeline.intervalStart(employee)));
+        }
+        return first;
+    }
+}
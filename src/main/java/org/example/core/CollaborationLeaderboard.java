@@ -0,0 +1,79 @@
+package org.example.core;
+
+import org.example.comparator.EmployeeCollaborationComparator;
+import org.example.model.EmployeePair;
+import org.example.model.PairScore;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-pair, per-project overlap totals kept in ranking order as they change. Pairs are ranked like
+ * {@link EmployeeCollaborationComparator}: total days, then longest single project, then employee ids.
+ * Not thread-safe; callers synchronize.
+ */
+public class CollaborationLeaderboard {
+    private final Map<EmployeePair, PairTotals> pairs = new HashMap<>();
+    private final TreeSet<PairScore> ranking = new TreeSet<>(PairScore.RANKING);
+
+    private static final class PairTotals {
+        private final Map<Integer, Long> daysByProject = new HashMap<>();
+        private PairScore score;
+    }
+
+    /**
+     * Sets the overlap of the pair on one project, replacing the previous value. Zero removes the project.
+     */
+    public void setProjectOverlap(EmployeePair pair, int projectId, long days) {
+        var totals = pairs.get(pair);
+        if (totals == null) {
+            if (days <= 0) {
+                return;
+            }
+            totals = new PairTotals();
+            pairs.put(pair, totals);
+        }
+
+        if (days > 0) {
+            totals.daysByProject.put(projectId, days);
+        } else {
+            totals.daysByProject.remove(projectId);
+        }
+
+        if (totals.score != null) {
+            ranking.remove(totals.score);
+        }
+        if (totals.daysByProject.isEmpty()) {
+            pairs.remove(pair);
+            return;
+        }
+
+        totals.score = PairScore.of(pair, totals.daysByProject);
+        ranking.add(totals.score);
+    }
+
+    public int size() {
+        return ranking.size();
+    }
+
+    /**
+     * The best {@code limit} pairs in the same shape as {@link Main#findLongestCollaboration}: pairs in ranking
+     * order, each with its projects sorted by days (descending) and project id.
+     */
+    public SortedMap<EmployeePair, Map<Integer, Long>> toSortedMap(int limit) {
+        var scores = new HashMap<EmployeePair, PairScore>();
+        var sorted = new TreeMap<EmployeePair, Map<Integer, Long>>(new EmployeeCollaborationComparator(scores));
+        for (var score : ranking) {
+            if (sorted.size() == limit) {
+                break;
+            }
+            var pair = score.toPair();
+            scores.put(pair, score);
+            sorted.put(pair, Main.sortProjectsByDays(pairs.get(pair).daysByProject));
+        }
+        return sorted;
+    }
+}
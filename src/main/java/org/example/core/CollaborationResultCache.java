@@ -0,0 +1,214 @@
+package org.example.core;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.model.CollaborationResults;
+import org.example.model.WorkDurationStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import static org.example.util.Constants.*;
+import static org.example.util.LoggingConstants.RESULT_CACHE_EVICTED;
+import static org.example.util.LoggingConstants.RESULT_CACHE_HIT;
+
+/**
+ * In-memory LRU cache of {@link CollaborationResults}, keyed by a hash of the input's content together with
+ * the analysis options, so an unchanged input is answered without parsing or ranking. Bounded both by entry
+ * count and by the estimated size of the cached results; the least recently used entries go first.
+ * <p>
+ * Files are keyed by path, size, modification time and the SHA-256 of their content, which is computed once
+ * per path, size and modification time, so reopening an unchanged file does not read it again. Results of a
+ * file with NULL dates are only used on the day those dates were resolved to. Rows analysed directly, such as
+ * server uploads, are keyed by the SHA-256 of the rows in their order. Cached results are shared and must not
+ * be modified. Hits, misses and evictions are counted in {@link PipelineMetrics}.
+ */
+@Log4j2
+public class CollaborationResultCache {
+    private static final CollaborationResultCache SHARED = new CollaborationResultCache(
+            Integer.getInteger(RESULT_CACHE_ENTRIES_PROPERTY, DEFAULT_RESULT_CACHE_ENTRIES),
+            Long.getLong(RESULT_CACHE_BYTES_PROPERTY, DEFAULT_RESULT_CACHE_BYTES));
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, FileResults> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<FileVersion, String> fileHashes = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * @param file the analysed file, {@code null} for rows that were analysed directly
+     */
+    private record Key(FileVersion file, String contentHash, int topK, OverlapEngine engine) {
+    }
+
+    private record FileVersion(Path path, long size, long lastModified) {
+        private static FileVersion of(Path file) throws IOException {
+            var path = file.toAbsolutePath().normalize();
+            return new FileVersion(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        }
+    }
+
+    /**
+     * @param nullDate the day the input's NULL dates were resolved to, {@code null} if it has none
+     */
+    public record FileResults(CollaborationResults results, LocalDate nullDate) {
+    }
+
+    /**
+     * @param maxEntries 0 disables caching
+     * @param maxBytes   upper bound of the estimated size of all cached results
+     */
+    public CollaborationResultCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The process-wide cache, sized by the {@value org.example.util.Constants#RESULT_CACHE_ENTRIES_PROPERTY}
+     * and {@value org.example.util.Constants#RESULT_CACHE_BYTES_PROPERTY} system properties.
+     */
+    public static CollaborationResultCache shared() {
+        return SHARED;
+    }
+
+    public CollaborationResults getOrCompute(Path file, int topK, OverlapEngine engine,
+                                             Supplier<FileResults> analysis) throws IOException {
+        var version = FileVersion.of(file);
+        return getOrCompute(new Key(version, fileHash(version), topK, engine), analysis);
+    }
+
+    /**
+     * Rows hold their NULL dates already resolved, so their hash covers the day. The same rows in another
+     * order are a miss.
+     */
+    public CollaborationResults getOrCompute(WorkDurationStore workDurations, int topK, OverlapEngine engine,
+                                             Supplier<CollaborationResults> analysis) {
+        return getOrCompute(new Key(null, sha256(workDurations), topK, engine),
+                () -> new FileResults(analysis.get(), null));
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /**
+     * Computes outside the lock, so concurrent misses on the same key may both run the analysis.
+     */
+    private CollaborationResults getOrCompute(Key key, Supplier<FileResults> analysis) {
+        synchronized (entries) {
+            var cached = entries.get(key);
+            if (cached != null && (cached.nullDate() == null || cached.nullDate().equals(LocalDate.now()))) {
+                var metrics = PipelineMetrics.get();
+                metrics.add(Counter.RESULT_CACHE_HITS, 1);
+                log.debug(RESULT_CACHE_HIT, metrics.getCounter(Counter.RESULT_CACHE_HITS),
+                        metrics.getCounter(Counter.RESULT_CACHE_MISSES));
+                return cached.results();
+            }
+        }
+        PipelineMetrics.get().add(Counter.RESULT_CACHE_MISSES, 1);
+
+        var results = analysis.get();
+        put(key, results);
+        return results.results();
+    }
+
+    private void put(Key key, FileResults results) {
+        var bytes = results.results().estimatedSizeInBytes();
+        if (maxEntries == 0 || bytes > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            var previous = entries.put(key, results);
+            if (previous != null) {
+                cachedBytes -= previous.results().estimatedSizeInBytes();
+            }
+            cachedBytes += bytes;
+
+            var eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries || cachedBytes > maxBytes) {
+                var evicted = eldest.next();
+                eldest.remove();
+                cachedBytes -= evicted.getValue().results().estimatedSizeInBytes();
+                PipelineMetrics.get().add(Counter.RESULT_CACHE_EVICTIONS, 1);
+                log.debug(RESULT_CACHE_EVICTED, evicted.getKey().contentHash(), cachedBytes);
+            }
+        }
+    }
+
+    private String fileHash(FileVersion version) throws IOException {
+        synchronized (fileHashes) {
+            var hash = fileHashes.get(version);
+            if (hash != null) {
+                return hash;
+            }
+        }
+
+        var hash = sha256(version.path());
+        synchronized (fileHashes) {
+            fileHashes.put(version, hash);
+            var eldest = fileHashes.entrySet().iterator();
+            while (fileHashes.size() > Math.max(maxEntries, 1) * 2) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * SHA-256 of the file, read through memory-mapped windows.
+     */
+    private static String sha256(Path path) throws IOException {
+        var digest = newDigest();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            for (var position = 0L; position < size; position += MAPPED_WINDOW_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAPPED_WINDOW_SIZE, size - position)));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * SHA-256 of every row's four columns, in row order.
+     */
+    private static String sha256(WorkDurationStore workDurations) {
+        var digest = newDigest();
+        var buffer = ByteBuffer.allocate(ROW_DIGEST_BUFFER_SIZE);
+        for (var i = 0; i < workDurations.size(); i++) {
+            if (buffer.remaining() < 4 * Integer.BYTES) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+            buffer.putInt(workDurations.getEmpId(i))
+                    .putInt(workDurations.getProjectId(i))
+                    .putInt(workDurations.getFromEpochDay(i))
+                    .putInt(workDurations.getToEpochDay(i));
+        }
+        digest.update(buffer.flip());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(RESULT_CACHE_DIGEST);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
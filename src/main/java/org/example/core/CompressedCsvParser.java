@@ -0,0 +1,118 @@
+package org.example.core;
+
+import org.example.exception.CsvValidationException;
+import org.example.model.WorkDurationSink;
+import org.example.util.DateParser;
+import org.example.util.RejectedRowLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.example.util.Constants.MAPPED_WINDOW_SIZE;
+import static org.example.util.ErrorConstants.LINE_TOO_LONG;
+import static org.example.util.ValidationUtil.validateHeader;
+
+/**
+ * Parses a compressed CSV file from the chunks of a {@link DecompressionPipeline}, with the byte-level line
+ * handling of {@link MappedCsvParser}, so rows are validated and numbered exactly as in the plain file.
+ * Each chunk is parsed in place up to its last line break; only the line that straddles two chunks is copied.
+ * Progress is reported in compressed bytes, against the size of the file on disk.
+ */
+final class CompressedCsvParser {
+    private final MappedCsvParser parser;
+    private final ParseProgressTracker progress;
+    private byte[] carry = new byte[0];
+    private int carryLength;
+
+    CompressedCsvParser(DateParser dateParser, RejectedRowLog rejections, WorkDurationSink sink,
+                        ParseProgressTracker progress) {
+        this.parser = new MappedCsvParser(dateParser, rejections, sink, null);
+        this.progress = progress;
+    }
+
+    int getAcceptedRecords() {
+        return parser.getAcceptedRecords();
+    }
+
+    void parse(Path path, Compression compression) throws IOException {
+        try (var pipeline = new DecompressionPipeline(Files.newInputStream(path), compression)) {
+            var lineNumber = 0;
+            var reportedBytes = 0L;
+            DecompressionPipeline.Chunk chunk;
+            while ((chunk = pipeline.take()) != null) {
+                var linesBefore = lineNumber;
+                var buffer = ByteBuffer.wrap(chunk.data(), 0, chunk.length());
+                var start = 0;
+                if (carryLength > 0) {
+                    var newline = indexOfNewline(chunk);
+                    if (newline < 0) {
+                        append(chunk, 0, chunk.length(), lineNumber);
+                        pipeline.recycle(chunk);
+                        continue;
+                    }
+                    start = newline + 1;
+                    append(chunk, 0, start, lineNumber);
+                    lineNumber = parseLines(ByteBuffer.wrap(carry, 0, carryLength), 0, carryLength, lineNumber);
+                    carryLength = 0;
+                }
+
+                var boundary = Math.max(MappedCsvParser.lastLineBoundary(buffer, chunk.length()), start);
+                lineNumber = parseLines(buffer, start, boundary, lineNumber);
+                append(chunk, boundary, chunk.length(), lineNumber);
+
+                if (progress != null) {
+                    progress.advance(chunk.compressedBytes() - reportedBytes, lineNumber - linesBefore);
+                    reportedBytes = chunk.compressedBytes();
+                }
+                pipeline.recycle(chunk);
+            }
+
+            if (carryLength > 0) {
+                lineNumber = parseLines(ByteBuffer.wrap(carry, 0, carryLength), 0, carryLength, lineNumber);
+            }
+            if (lineNumber == 0) {
+                validateHeader(null);
+            }
+        }
+    }
+
+    /**
+     * Like {@link MappedCsvParser#parseLines}, reading the header first while {@code lineNumber} is 0.
+     * Until then nothing was parsed or carried over, so the header starts at 0.
+     */
+    private int parseLines(ByteBuffer buffer, int start, int limit, int lineNumber) {
+        if (start == limit) {
+            return lineNumber;
+        }
+        if (lineNumber == 0) {
+            start = MappedCsvParser.readHeader(buffer, limit);
+            lineNumber = 1;
+        }
+        return parser.parseLines(buffer, start, limit, lineNumber);
+    }
+
+    private void append(DecompressionPipeline.Chunk chunk, int from, int to, int lineNumber) {
+        var length = to - from;
+        if (carryLength + length > MAPPED_WINDOW_SIZE) {
+            throw new CsvValidationException(String.format(LINE_TOO_LONG, lineNumber + 1, MAPPED_WINDOW_SIZE));
+        }
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carryLength + length, carry.length * 2));
+        }
+        System.arraycopy(chunk.data(), from, carry, carryLength, length);
+        carryLength += length;
+    }
+
+    private static int indexOfNewline(DecompressionPipeline.Chunk chunk) {
+        var data = chunk.data();
+        for (var i = 0; i < chunk.length(); i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.core;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.example.util.Constants.*;
+
+/**
+ * Compression of an input, recognised by its leading magic bytes rather than by the file name.
+ */
+public enum Compression {
+    NONE,
+
+    /**
+     * One or more concatenated gzip members, as written by {@code gzip} or {@code GZIPOutputStream}.
+     */
+    GZIP,
+
+    /**
+     * Zstandard frames, decoded in pure Java.
+     */
+    ZSTD;
+
+    public static Compression detect(Path path) throws IOException {
+        try (var in = Files.newInputStream(path)) {
+            return of(in.readNBytes(COMPRESSION_MAGIC_BYTES));
+        }
+    }
+
+    /**
+     * The stream's contents, decoded on a separate thread through a {@link DecompressionPipeline} when they
+     * are compressed. Closing the returned stream closes {@code in}.
+     */
+    public static InputStream decoding(InputStream in) throws IOException {
+        var buffered = in.markSupported() ? in : new BufferedInputStream(in);
+        buffered.mark(COMPRESSION_MAGIC_BYTES);
+        var compression = of(buffered.readNBytes(COMPRESSION_MAGIC_BYTES));
+        buffered.reset();
+        return compression == NONE ? buffered : new DecompressionPipeline(buffered, compression).asInputStream();
+    }
+
+    static Compression of(byte[] head) {
+        if (head.length >= 2 && ((head[0] & 0xff) << 8 | head[1] & 0xff) == GZIP_MAGIC) {
+            return GZIP;
+        }
+        if (head.length >= 4 && ((head[3] & 0xff) << 24 | (head[2] & 0xff) << 16 | (head[1] & 0xff) << 8
+                | head[0] & 0xff) == ZSTD_MAGIC) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+
+    InputStream decode(InputStream compressed) throws IOException {
+        return switch (this) {
+            case NONE -> compressed;
+            case GZIP -> new GZIPInputStream(compressed, DECOMPRESSED_CHUNK_SIZE);
+            case ZSTD -> new ZstdInputStream(compressed);
+        };
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.core;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.example.util.Constants.*;
+
+/**
+ * Decompresses a stream on its own thread, so inflating the next bytes overlaps with parsing the previous
+ * ones. The decoder fills chunks of {@value org.example.util.Constants#DECOMPRESSED_CHUNK_SIZE} bytes and
+ * hands them over through a queue of {@value org.example.util.Constants#DECOMPRESSED_QUEUE_CAPACITY}, which
+ * blocks the decoder when the parser falls behind. Parsed chunks are handed back through
+ * {@link #recycle(Chunk)} and reused, so a long file is decoded into the same few buffers.
+ * <p>
+ * A decoding error is thrown by {@link #take()} once the chunks before it are consumed.
+ */
+final class DecompressionPipeline implements Closeable {
+    private static final Chunk END = new Chunk(new byte[0], 0, 0);
+
+    /**
+     * {@code length} decoded bytes in {@code data}, after {@code compressedBytes} bytes of input were read.
+     */
+    record Chunk(byte[] data, int length, long compressedBytes) {
+    }
+
+    private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(DECOMPRESSED_QUEUE_CAPACITY);
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(DECOMPRESSED_QUEUE_CAPACITY + 1);
+    private final CountingInputStream source;
+    private final Compression compression;
+    private final Thread decoder;
+    private volatile Exception failure;
+    private boolean finished;
+
+    DecompressionPipeline(InputStream compressed, Compression compression) {
+        this.source = new CountingInputStream(compressed);
+        this.compression = compression;
+        this.decoder = Thread.ofPlatform().name(DECOMPRESSION_THREAD_NAME).daemon().start(this::decode);
+    }
+
+    /**
+     * The next decoded chunk, or {@code null} after the last one.
+     */
+    Chunk take() throws IOException {
+        if (finished) {
+            return null;
+        }
+        Chunk chunk;
+        try {
+            chunk = chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        if (chunk != END) {
+            return chunk;
+        }
+        finished = true;
+        if (failure instanceof IOException io) {
+            throw io;
+        }
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        return null;
+    }
+
+    void recycle(Chunk chunk) {
+        freeBuffers.offer(chunk.data());
+    }
+
+    InputStream asInputStream() {
+        return new ChunkInputStream();
+    }
+
+    /**
+     * Stops the decoder if it is still running and closes the compressed stream.
+     */
+    @Override
+    public void close() throws IOException {
+        decoder.interrupt();
+        try {
+            decoder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void decode() {
+        try {
+            try (var in = source; var decoded = compression.decode(in)) {
+                while (true) {
+                    var buffer = freeBuffers.poll();
+                    if (buffer == null) {
+                        buffer = new byte[DECOMPRESSED_CHUNK_SIZE];
+                    }
+                    var length = decoded.readNBytes(buffer, 0, buffer.length);
+                    if (length == 0) {
+                        break;
+                    }
+                    chunks.put(new Chunk(buffer, length, source.count));
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+            chunks.put(END);
+        } catch (InterruptedException e) {
+            // Closed before the end of the input; nobody takes further chunks
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            var skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private final class ChunkInputStream extends InputStream {
+        private Chunk current;
+        private int position;
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? current.data()[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            var read = Math.min(len, current.length() - position);
+            System.arraycopy(current.data(), position, b, off, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            DecompressionPipeline.this.close();
+        }
+
+        private boolean fill() throws IOException {
+            while (current == null || position == current.length()) {
+                if (current != null) {
+                    recycle(current);
+                }
+                current = take();
+                position = 0;
+                if (current == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
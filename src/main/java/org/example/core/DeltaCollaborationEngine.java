@@ -0,0 +1,217 @@
+package org.example.core;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.model.EmployeePair;
+import org.example.model.WorkDurationStore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.example.util.LoggingConstants.PROJECTS_RECOMPUTED;
+
+/**
+ * Keeps collaboration results across successive versions of the input, recomputing only the projects whose
+ * rows changed. Every project remembers a fingerprint of its rows and its contribution to the pair totals;
+ * a new input, or a diff against the previous one, re-runs the overlap stage for the dirty projects only
+ * and patches their contributions into a {@link CollaborationLeaderboard}, which keeps the ranking.
+ */
+@Log4j2
+public class DeltaCollaborationEngine {
+    private final OverlapEngine engine;
+    private final Map<Integer, ProjectState> projects = new HashMap<>();
+    private final CollaborationLeaderboard leaderboard = new CollaborationLeaderboard();
+
+    private record ProjectState(WorkDurationStore rows, long fingerprint, long[] pairKeys, long[] days) {
+    }
+
+    private record RowKey(int empId, int fromEpochDay, int toEpochDay) {
+    }
+
+    public DeltaCollaborationEngine(OverlapEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Replaces the whole input. Projects whose rows are unchanged keep their results; projects that
+     * disappeared are dropped. Returns the number of projects recomputed.
+     */
+    public synchronized int update(WorkDurationStore workDurations) {
+        var startTime = System.currentTimeMillis();
+        var dirty = new ArrayList<WorkDurationStore>();
+        var seen = new HashSet<Integer>();
+
+        for (var rows : Main.groupWorkDurationsByProject(workDurations)) {
+            var projectId = workDurations.getProjectId(rows[0]);
+            seen.add(projectId);
+            var state = projects.get(projectId);
+            if (state == null || state.fingerprint() != RowHasher.hash(workDurations, rows)) {
+                dirty.add(copyRows(workDurations, rows));
+            }
+        }
+
+        var removed = new ArrayList<Integer>();
+        for (var projectId : projects.keySet()) {
+            if (!seen.contains(projectId)) {
+                removed.add(projectId);
+            }
+        }
+        removed.forEach(this::removeProject);
+
+        recompute(dirty);
+        log.info(PROJECTS_RECOMPUTED, dirty.size(), projects.size(), System.currentTimeMillis() - startTime);
+        return dirty.size();
+    }
+
+    /**
+     * Applies a diff against the current input: each row of {@code removed} removes one matching row, then
+     * the rows of {@code added} are added. Rows in {@code removed} that are not present are ignored.
+     * Returns the number of projects recomputed.
+     */
+    public synchronized int applyDiff(WorkDurationStore added, WorkDurationStore removed) {
+        var startTime = System.currentTimeMillis();
+        var removedByProject = new HashMap<Integer, Map<RowKey, Integer>>();
+        for (var i = 0; i < removed.size(); i++) {
+            removedByProject.computeIfAbsent(removed.getProjectId(i), k -> new HashMap<>())
+                    .merge(new RowKey(removed.getEmpId(i), removed.getFromEpochDay(i), removed.getToEpochDay(i)),
+                            1, Integer::sum);
+        }
+        var addedByProject = new HashMap<Integer, WorkDurationStore>();
+        for (var i = 0; i < added.size(); i++) {
+            addedByProject.computeIfAbsent(added.getProjectId(i), k -> new WorkDurationStore())
+                    .add(added.getEmpId(i), added.getProjectId(i), added.getFromEpochDay(i), added.getToEpochDay(i));
+        }
+
+        var touched = new HashSet<>(removedByProject.keySet());
+        touched.addAll(addedByProject.keySet());
+        var dirty = new ArrayList<WorkDurationStore>();
+        for (var projectId : touched) {
+            var state = projects.get(projectId);
+            var rows = new WorkDurationStore();
+            if (state != null) {
+                copyRemaining(state.rows(), removedByProject.getOrDefault(projectId, Map.of()), rows);
+            }
+            var addedRows = addedByProject.get(projectId);
+            if (addedRows != null) {
+                rows.addAll(addedRows);
+            }
+
+            if (rows.isEmpty()) {
+                if (state != null) {
+                    removeProject(projectId);
+                }
+            } else if (state == null || state.fingerprint() != RowHasher.hash(rows)) {
+                dirty.add(rows);
+            }
+        }
+
+        recompute(dirty);
+        log.info(PROJECTS_RECOMPUTED, dirty.size(), projects.size(), System.currentTimeMillis() - startTime);
+        return dirty.size();
+    }
+
+    public synchronized SortedMap<EmployeePair, Map<Integer, Long>> getSortedCollaborations() {
+        return leaderboard.toSortedMap(Integer.MAX_VALUE);
+    }
+
+    public synchronized SortedMap<EmployeePair, Map<Integer, Long>> getTopCollaborations(int limit) {
+        return leaderboard.toSortedMap(limit);
+    }
+
+    public synchronized int getCollaboratingPairCount() {
+        return leaderboard.size();
+    }
+
+    public synchronized int getProjectCount() {
+        return projects.size();
+    }
+
+    /**
+     * Runs the overlap stage for the dirty projects in parallel, then patches the leaderboard on this thread.
+     */
+    private void recompute(ArrayList<WorkDurationStore> dirty) {
+        var states = dirty.parallelStream()
+                .map(this::calculateProject)
+                .toList();
+        for (var state : states) {
+            var projectId = state.rows().getProjectId(0);
+            replaceContribution(projectId, projects.put(projectId, state), state);
+        }
+    }
+
+    private ProjectState calculateProject(WorkDurationStore rows) {
+        var allRows = new int[rows.size()];
+        for (var i = 0; i < allRows.length; i++) {
+            allRows[i] = i;
+        }
+        var overlaps = new PairProjectOverlapMap();
+        Main.processOneProject(rows, allRows, overlaps, engine);
+
+        var pairKeys = new long[overlaps.size()];
+        var days = new long[overlaps.size()];
+        var next = new int[1];
+        overlaps.forEach((pairKey, projectId, overlap) -> {
+            pairKeys[next[0]] = pairKey;
+            days[next[0]++] = overlap;
+        });
+        return new ProjectState(rows, RowHasher.hash(rows), pairKeys, days);
+    }
+
+    /**
+     * Sets the project's new overlaps and clears the pairs that no longer overlap on it, leaving
+     * unchanged pairs untouched.
+     */
+    private void replaceContribution(int projectId, ProjectState previous, ProjectState current) {
+        var currentDays = new HashMap<Long, Long>(current.pairKeys().length * 2);
+        for (var i = 0; i < current.pairKeys().length; i++) {
+            currentDays.put(current.pairKeys()[i], current.days()[i]);
+        }
+
+        if (previous != null) {
+            for (var i = 0; i < previous.pairKeys().length; i++) {
+                var pairKey = previous.pairKeys()[i];
+                var days = currentDays.remove(pairKey);
+                if (days == null) {
+                    leaderboard.setProjectOverlap(EmployeePair.fromKey(pairKey), projectId, 0);
+                } else if (days != previous.days()[i]) {
+                    leaderboard.setProjectOverlap(EmployeePair.fromKey(pairKey), projectId, days);
+                }
+            }
+        }
+        currentDays.forEach((pairKey, days) ->
+                leaderboard.setProjectOverlap(EmployeePair.fromKey(pairKey), projectId, days));
+    }
+
+    private void removeProject(int projectId) {
+        var state = projects.remove(projectId);
+        for (var pairKey : state.pairKeys()) {
+            leaderboard.setProjectOverlap(EmployeePair.fromKey(pairKey), projectId, 0);
+        }
+    }
+
+    private static WorkDurationStore copyRows(WorkDurationStore workDurations, int[] rows) {
+        var copy = new WorkDurationStore(rows.length);
+        for (var row : rows) {
+            copy.add(workDurations.getEmpId(row), workDurations.getProjectId(row),
+                    workDurations.getFromEpochDay(row), workDurations.getToEpochDay(row));
+        }
+        return copy;
+    }
+
+    private static void copyRemaining(WorkDurationStore rows, Map<RowKey, Integer> removed, WorkDurationStore target) {
+        var toRemove = new HashMap<>(removed);
+        for (var i = 0; i < rows.size(); i++) {
+            var key = new RowKey(rows.getEmpId(i), rows.getFromEpochDay(i), rows.getToEpochDay(i));
+            var pending = toRemove.get(key);
+            if (pending == null) {
+                target.add(rows.getEmpId(i), rows.getProjectId(i), rows.getFromEpochDay(i), rows.getToEpochDay(i));
+            } else if (pending == 1) {
+                toRemove.remove(key);
+            } else {
+                toRemove.put(key, pending - 1);
+            }
+        }
+    }
+}
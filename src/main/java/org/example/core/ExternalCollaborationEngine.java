@@ -0,0 +1,483 @@
+package org.example.core;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.Stage;
+import org.example.model.CollaborationSink;
+import org.example.model.PairScore;
+import org.example.model.WorkDurationStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.example.util.Constants.*;
+import static org.example.util.ErrorConstants.INVALID_TOP_K;
+import static org.example.util.LoggingConstants.EXTERNAL_ANALYSIS_DONE;
+import static org.example.util.LoggingConstants.SPILL_CLEANUP_FAILED;
+
+/**
+ * Ranks collaborations of inputs larger than the heap within a memory budget, as an external sort over
+ * temporary runs in a spill directory:
+ * <ol>
+ * <li>Parsed rows are buffered, grouped by project and written as row runs sorted by project.</li>
+ * <li>The row runs are merged, so the rows of each project arrive together. Consecutive projects are batched
+ * and run through {@link ProjectScheduler}, and the pair overlaps of the batches are aggregated until their
+ * share of the budget is used, then written as pair runs: one record per pair with its projects, by pair.</li>
+ * <li>The pair runs are merged, so every pair meets its projects from all runs. The complete pairs are scored
+ * and written as ranked runs in {@link PairScore#RANKING} order, which are merged into the sink.</li>
+ * </ol>
+ * Only one buffer of rows, pairs or ranked pairs and one read buffer per merged run are held at a time; a
+ * single project with all its pairs must still fit. Snapshots and the result cache are bypassed, as both hold
+ * the whole input. Rows repeated across inputs are spilled twice, which does not change any overlap.
+ * <p>
+ * Every instance analyses one input; the overlap stage runs on the pool of the calling thread.
+ */
+@Log4j2
+public class ExternalCollaborationEngine {
+    private static final String ROW_RUN_PREFIX = "rows-";
+    private static final String PAIR_RUN_PREFIX = "pairs-";
+    private static final String RANKED_RUN_PREFIX = "ranked-";
+    private static final Comparator<PairScore> BY_PAIR =
+            Comparator.comparingInt(PairScore::emp1).thenComparingInt(PairScore::emp2);
+
+    private final OverlapEngine engine;
+    private final long memoryBudget;
+    private final Path spillDirectory;
+    private final AnalysisProgress progress;
+    private final int rowsPerRun;
+    private final int rowsPerBatch;
+    private final int pairsPerRun;
+    private final List<Path> rowRuns = new ArrayList<>();
+    private final List<Path> pairRuns = new ArrayList<>();
+    private final List<Path> rankedRuns = new ArrayList<>();
+    private Path runDirectory;
+    private WorkDurationStore rowBuffer;
+    @Getter
+    private long recordCount;
+    private long spilledBytes;
+
+    /**
+     * @param spillDirectory where the runs are written, in a temporary directory of their own;
+     *                       {@code null} for the default temporary-file directory
+     */
+    public ExternalCollaborationEngine(OverlapEngine engine, long memoryBudget, Path spillDirectory,
+                                       AnalysisProgress progress) {
+        this.engine = engine;
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+        this.progress = progress;
+        this.rowsPerRun = recordsWithin(memoryBudget, SPILL_ROW_BYTES);
+        this.rowsPerBatch = recordsWithin(memoryBudget, SPILL_BATCH_ROW_BYTES);
+        this.pairsPerRun = recordsWithin(memoryBudget / 2, SPILL_PAIR_BYTES);
+    }
+
+    /**
+     * Streams the best {@code k} pairs of all inputs to {@code sink} in ranking order, like
+     * {@link Main#streamCollaborations}, and deletes the runs afterwards. Returns the number of pairs written.
+     */
+    public int streamCollaborations(List<Path> inputs, int k, CollaborationSink sink) throws IOException {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_TOP_K, k));
+        }
+        var startTime = System.nanoTime();
+        runDirectory = spillDirectory == null
+                ? Files.createTempDirectory(SPILL_DIRECTORY_PREFIX)
+                : Files.createTempDirectory(spillDirectory, SPILL_DIRECTORY_PREFIX);
+        try {
+            spillRows(inputs);
+            spillPairs();
+            spillRankedPairs(k);
+            var pairs = mergeRankedPairs(k, sink);
+
+            var elapsed = PipelineMetrics.get().stop(Stage.ANALYSIS, startTime);
+            log.info(EXTERNAL_ANALYSIS_DONE, recordCount, memoryBudget, rowRuns.size(), pairRuns.size(),
+                    rankedRuns.size(), spilledBytes, runDirectory, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return pairs;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            deleteRuns(rowRuns);
+            deleteRuns(pairRuns);
+            deleteRuns(rankedRuns);
+            delete(runDirectory);
+        }
+    }
+
+    private void spillRows(List<Path> inputs) throws IOException {
+        rowBuffer = new WorkDurationStore(rowsPerRun);
+        for (var input : inputs) {
+            Main.parseCsvFile(input, 1, this::addRow, progress);
+        }
+        if (!rowBuffer.isEmpty()) {
+            writeRowRun(rowBuffer);
+        }
+        rowBuffer = null;
+    }
+
+    private void addRow(int empId, int projectId, int fromEpochDay, int toEpochDay) {
+        rowBuffer.add(empId, projectId, fromEpochDay, toEpochDay);
+        recordCount++;
+        if (rowBuffer.size() == rowsPerRun) {
+            try {
+                writeRowRun(rowBuffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rowBuffer = new WorkDurationStore(rowsPerRun);
+        }
+    }
+
+    /**
+     * Row record: project id, employee id, first and last epoch day.
+     */
+    private void writeRowRun(WorkDurationStore rows) throws IOException {
+        progress.checkCancelled();
+        var startTime = System.nanoTime();
+        var writer = new SpillFile.Writer(newRun(rowRuns, ROW_RUN_PREFIX), SPILL_BUFFER_SIZE);
+        try (writer) {
+            for (var projectRows : Main.groupWorkDurationsByProject(rows)) {
+                for (var row : projectRows) {
+                    writer.putInt(rows.getProjectId(row));
+                    writer.putInt(rows.getEmpId(row));
+                    writer.putInt(rows.getFromEpochDay(row));
+                    writer.putInt(rows.getToEpochDay(row));
+                }
+            }
+        }
+        spilled(writer);
+        PipelineMetrics.get().stop(Stage.GROUP, startTime);
+    }
+
+    private void spillPairs() throws IOException {
+        var cursors = new PriorityQueue<RowCursor>(Comparator.comparingInt(cursor -> cursor.projectId));
+        var opened = new ArrayList<RowCursor>();
+        try {
+            var bufferSize = readBufferSize(rowRuns.size());
+            for (var run : rowRuns) {
+                var cursor = new RowCursor(run, bufferSize);
+                opened.add(cursor);
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+
+            var batch = new WorkDurationStore(rowsPerBatch);
+            var rowsByProject = new ArrayList<int[]>();
+            PairProjectOverlapMap pending = null;
+            while (!cursors.isEmpty()) {
+                var projectId = cursors.peek().projectId;
+                var start = batch.size();
+                while (!cursors.isEmpty() && cursors.peek().projectId == projectId) {
+                    var cursor = cursors.poll();
+                    do {
+                        batch.add(cursor.empId, projectId, cursor.fromEpochDay, cursor.toEpochDay);
+                    } while (cursor.next() && cursor.projectId == projectId);
+                    if (cursor.hasRow) {
+                        cursors.add(cursor);
+                    }
+                }
+                rowsByProject.add(IntStream.range(start, batch.size()).toArray());
+
+                if (batch.size() >= rowsPerBatch) {
+                    pending = calculateOverlaps(batch, rowsByProject, pending);
+                    batch = new WorkDurationStore(rowsPerBatch);
+                    rowsByProject = new ArrayList<>();
+                }
+            }
+            if (!rowsByProject.isEmpty()) {
+                pending = calculateOverlaps(batch, rowsByProject, pending);
+            }
+            if (pending != null && pending.size() > 0) {
+                writePairRun(pending);
+            }
+        } finally {
+            closeAll(opened);
+        }
+        deleteRuns(rowRuns);
+    }
+
+    /**
+     * Adds the overlaps of a batch of whole projects to {@code pending}, or to a new map presized for the batch
+     * when it is {@code null}, and spills the map once it holds enough pairs. Returns the map to add the next
+     * batch to.
+     */
+    private PairProjectOverlapMap calculateOverlaps(WorkDurationStore batch,
+                                                    List<int[]> rowsByProject,
+                                                    PairProjectOverlapMap pending) throws IOException {
+        progress.checkCancelled();
+        var scheduler = new ProjectScheduler(batch, engine, progress);
+        var overlaps = pending == null ? scheduler.newOverlapMap(rowsByProject, pairsPerRun) : pending;
+        scheduler.calculateOverlaps(rowsByProject, overlaps);
+        if (overlaps.size() < pairsPerRun) {
+            return overlaps;
+        }
+        writePairRun(overlaps);
+        return null;
+    }
+
+    private void writePairRun(PairProjectOverlapMap overlaps) throws IOException {
+        var startTime = System.nanoTime();
+        var pairs = overlaps.scorePairs();
+        Arrays.parallelSort(pairs, BY_PAIR);
+        PipelineMetrics.get().stop(Stage.SCORE, startTime);
+
+        var writer = new SpillFile.Writer(newRun(pairRuns, PAIR_RUN_PREFIX), SPILL_BUFFER_SIZE);
+        try (writer) {
+            overlaps.forEachRanked(pairs, (score, projectIds, projectDays) -> {
+                try {
+                    writeRankedPair(writer, score, projectIds, projectDays);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        spilled(writer);
+    }
+
+    /**
+     * Joins the projects of every pair across the pair runs and writes the complete pairs as ranked runs.
+     */
+    private void spillRankedPairs(int k) throws IOException {
+        var startTime = System.nanoTime();
+        var cursors = new PriorityQueue<RankedPairCursor>((cursor1, cursor2) -> BY_PAIR.compare(cursor1.score, cursor2.score));
+        var opened = new ArrayList<RankedPairCursor>();
+        try {
+            openAll(pairRuns, opened, cursors);
+            var buffer = new ArrayList<RankedPair>();
+            var bufferedBytes = 0L;
+            while (!cursors.isEmpty()) {
+                var cursor = cursors.poll();
+                var score = cursor.score;
+                var projectIds = cursor.projectIds;
+                var projectDays = cursor.projectDays;
+                advance(cursor, cursors);
+                while (!cursors.isEmpty() && BY_PAIR.compare(cursors.peek().score, score) == 0) {
+                    cursor = cursors.poll();
+                    var joined = projectIds.length;
+                    projectIds = Arrays.copyOf(projectIds, joined + cursor.projectIds.length);
+                    projectDays = Arrays.copyOf(projectDays, joined + cursor.projectDays.length);
+                    System.arraycopy(cursor.projectIds, 0, projectIds, joined, cursor.projectIds.length);
+                    System.arraycopy(cursor.projectDays, 0, projectDays, joined, cursor.projectDays.length);
+                    PairProjectOverlapMap.sortProjectsByDays(projectIds, projectDays);
+                    score = new PairScore(score.emp1(), score.emp2(), score.totalDays() + cursor.score.totalDays(),
+                            projectDays[0]);
+                    advance(cursor, cursors);
+                }
+
+                buffer.add(new RankedPair(score, projectIds, projectDays));
+                bufferedBytes += SPILL_RANKED_PAIR_BYTES + (long) projectIds.length * SPILL_PROJECT_BYTES;
+                if (bufferedBytes >= memoryBudget / 2) {
+                    writeRankedRun(buffer, k);
+                    buffer.clear();
+                    bufferedBytes = 0;
+                }
+            }
+            if (!buffer.isEmpty()) {
+                writeRankedRun(buffer, k);
+            }
+        } finally {
+            closeAll(opened);
+        }
+        deleteRuns(pairRuns);
+        PipelineMetrics.get().stop(Stage.RANK, startTime);
+    }
+
+    /**
+     * Only the best {@code k} pairs of a run can be among the best {@code k} of all runs, so the rest is dropped.
+     */
+    private void writeRankedRun(List<RankedPair> pairs, int k) throws IOException {
+        progress.checkCancelled();
+        var ranked = pairs.toArray(RankedPair[]::new);
+        Arrays.parallelSort(ranked, (pair1, pair2) -> PairScore.RANKING.compare(pair1.score(), pair2.score()));
+
+        var writer = new SpillFile.Writer(newRun(rankedRuns, RANKED_RUN_PREFIX), SPILL_BUFFER_SIZE);
+        try (writer) {
+            for (var i = 0; i < Math.min(k, ranked.length); i++) {
+                writeRankedPair(writer, ranked[i].score(), ranked[i].projectIds(), ranked[i].projectDays());
+            }
+        }
+        spilled(writer);
+    }
+
+    private int mergeRankedPairs(int k, CollaborationSink sink) throws IOException {
+        var startTime = System.nanoTime();
+        var cursors = new PriorityQueue<RankedPairCursor>(
+                (cursor1, cursor2) -> PairScore.RANKING.compare(cursor1.score, cursor2.score));
+        var opened = new ArrayList<RankedPairCursor>();
+        var written = 0;
+        try {
+            openAll(rankedRuns, opened, cursors);
+            while (written < k && !cursors.isEmpty()) {
+                var cursor = cursors.poll();
+                sink.accept(cursor.score, cursor.projectIds, cursor.projectDays);
+                written++;
+                advance(cursor, cursors);
+            }
+        } finally {
+            closeAll(opened);
+        }
+        PipelineMetrics.get().stop(Stage.RESULTS, startTime);
+        return written;
+    }
+
+    /**
+     * Ranked pair record: both employee ids, total and longest overlap, project count, then the project ids
+     * and their overlap days, longest first.
+     */
+    private static void writeRankedPair(SpillFile.Writer writer, PairScore score, int[] projectIds,
+                                        long[] projectDays) throws IOException {
+        writer.putInt(score.emp1());
+        writer.putInt(score.emp2());
+        writer.putLong(score.totalDays());
+        writer.putLong(score.maxOverlap());
+        writer.putInt(projectIds.length);
+        for (var projectId : projectIds) {
+            writer.putInt(projectId);
+        }
+        for (var days : projectDays) {
+            writer.putLong(days);
+        }
+    }
+
+    private void openAll(List<Path> runs, List<RankedPairCursor> opened, PriorityQueue<RankedPairCursor> cursors)
+            throws IOException {
+        var bufferSize = readBufferSize(runs.size());
+        for (var run : runs) {
+            var cursor = new RankedPairCursor(run, bufferSize);
+            opened.add(cursor);
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    private static void advance(RankedPairCursor cursor, PriorityQueue<RankedPairCursor> cursors) throws IOException {
+        if (cursor.next()) {
+            cursors.add(cursor);
+        }
+    }
+
+    /**
+     * A quarter of the budget is shared by the read buffers of the runs merged at once.
+     */
+    private int readBufferSize(int runs) {
+        var share = memoryBudget / 4 / Math.max(runs, 1);
+        return (int) Math.max(MIN_SPILL_BUFFER_SIZE, Math.min(share, SPILL_BUFFER_SIZE));
+    }
+
+    private static int recordsWithin(long bytes, int bytesPerRecord) {
+        return (int) Math.max(MIN_SPILL_RECORDS, Math.min(bytes / bytesPerRecord, Integer.MAX_VALUE >> 1));
+    }
+
+    private Path newRun(List<Path> runs, String prefix) throws IOException {
+        var run = Files.createTempFile(runDirectory, prefix, SPILL_RUN_EXTENSION);
+        runs.add(run);
+        PipelineMetrics.get().add(Counter.SPILL_RUNS, 1);
+        return run;
+    }
+
+    private void spilled(SpillFile.Writer writer) {
+        spilledBytes += writer.bytesWritten();
+        PipelineMetrics.get().add(Counter.SPILLED_BYTES, writer.bytesWritten());
+    }
+
+    /**
+     * Deletes the runs once merged; the list keeps its size for the summary.
+     */
+    private static void deleteRuns(List<Path> runs) {
+        runs.forEach(ExternalCollaborationEngine::delete);
+    }
+
+    private static void delete(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn(SPILL_CLEANUP_FAILED, path, e.getMessage());
+        }
+    }
+
+    private static void closeAll(List<? extends Closeable> cursors) throws IOException {
+        for (var cursor : cursors) {
+            cursor.close();
+        }
+    }
+
+    private record RankedPair(PairScore score, int[] projectIds, long[] projectDays) {
+    }
+
+    private static final class RowCursor implements Closeable {
+        private final SpillFile.Reader reader;
+        private boolean hasRow;
+        private int projectId;
+        private int empId;
+        private int fromEpochDay;
+        private int toEpochDay;
+
+        private RowCursor(Path run, int bufferSize) throws IOException {
+            this.reader = new SpillFile.Reader(run, bufferSize);
+        }
+
+        private boolean next() throws IOException {
+            hasRow = reader.hasRemaining();
+            if (hasRow) {
+                projectId = reader.getInt();
+                empId = reader.getInt();
+                fromEpochDay = reader.getInt();
+                toEpochDay = reader.getInt();
+            }
+            return hasRow;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class RankedPairCursor implements Closeable {
+        private final SpillFile.Reader reader;
+        private PairScore score;
+        private int[] projectIds;
+        private long[] projectDays;
+
+        private RankedPairCursor(Path run, int bufferSize) throws IOException {
+            this.reader = new SpillFile.Reader(run, bufferSize);
+        }
+
+        private boolean next() throws IOException {
+            if (!reader.hasRemaining()) {
+                return false;
+            }
+            score = new PairScore(reader.getInt(), reader.getInt(), reader.getLong(), reader.getLong());
+            projectIds = new int[reader.getInt()];
+            projectDays = new long[projectIds.length];
+            for (var i = 0; i < projectIds.length; i++) {
+                projectIds[i] = reader.getInt();
+            }
+            for (var i = 0; i < projectDays.length; i++) {
+                projectDays[i] = reader.getLong();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.core;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.model.EmployeePair;
+import org.example.model.EmployeeWorkDuration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.example.util.LoggingConstants.PROJECT_OVERLAP;
+
+/**
+ * Keeps collaboration results up to date as work durations are inserted and deleted one at a time.
+ * <p>
+ * Each change only re-merges the intervals of the affected employee on the affected project and
+ * recomputes that employee's overlap with the other employees of the project; every other pair keeps
+ * its totals. The ranking is maintained as it changes, so results can be read at any time without
+ * recomputing anything. Rows are counted as a multiset: inserting a row twice adds two copies and deleting
+ * it removes one, so the row's days count for as long as a copy is left.
+ */
+@Log4j2
+public class IncrementalCollaborationEngine {
+    private final Map<Integer, Map<Integer, EmployeeIntervals>> employeesByProject = new HashMap<>();
+    private final CollaborationLeaderboard leaderboard = new CollaborationLeaderboard();
+
+    private static final class EmployeeIntervals {
+        private final TreeMap<Long, Integer> rowCounts = new TreeMap<>();
+        private int[] from = new int[0];
+        private int[] to = new int[0];
+
+        private boolean remerge() {
+            var packed = rowCounts.keySet().stream().mapToLong(Long::longValue).toArray();
+            var newFrom = new int[packed.length];
+            var newTo = new int[packed.length];
+            var count = packed.length == 0 ? 0 : Main.mergeIntervalsForOneEmployee(packed, packed.length, newFrom, newTo, 0);
+            newFrom = Arrays.copyOf(newFrom, count);
+            newTo = Arrays.copyOf(newTo, count);
+
+            var changed = !Arrays.equals(from, newFrom) || !Arrays.equals(to, newTo);
+            from = newFrom;
+            to = newTo;
+            return changed;
+        }
+    }
+
+    public synchronized void insert(EmployeeWorkDuration workDuration) {
+        var employees = employeesByProject.computeIfAbsent(workDuration.getProjectId(), k -> new HashMap<>());
+        var intervals = employees.computeIfAbsent(workDuration.getEmpId(), k -> new EmployeeIntervals());
+        intervals.rowCounts.merge(pack(workDuration), 1, Integer::sum);
+
+        if (intervals.remerge()) {
+            updateOverlaps(workDuration.getProjectId(), workDuration.getEmpId(), employees);
+        }
+    }
+
+    /**
+     * Removes one copy of the row. Returns false if it was never inserted.
+     */
+    public synchronized boolean delete(EmployeeWorkDuration workDuration) {
+        var projectId = workDuration.getProjectId();
+        var employees = employeesByProject.get(projectId);
+        var intervals = employees == null ? null : employees.get(workDuration.getEmpId());
+        var key = pack(workDuration);
+        if (intervals == null || !intervals.rowCounts.containsKey(key)) {
+            return false;
+        }
+
+        intervals.rowCounts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        if (intervals.remerge()) {
+            updateOverlaps(projectId, workDuration.getEmpId(), employees);
+        }
+
+        if (intervals.rowCounts.isEmpty()) {
+            employees.remove(workDuration.getEmpId());
+            if (employees.isEmpty()) {
+                employeesByProject.remove(projectId);
+            }
+        }
+        return true;
+    }
+
+    public synchronized SortedMap<EmployeePair, Map<Integer, Long>> getSortedCollaborations() {
+        return leaderboard.toSortedMap(Integer.MAX_VALUE);
+    }
+
+    public synchronized SortedMap<EmployeePair, Map<Integer, Long>> getTopCollaborations(int limit) {
+        return leaderboard.toSortedMap(limit);
+    }
+
+    public synchronized int getCollaboratingPairCount() {
+        return leaderboard.size();
+    }
+
+    private void updateOverlaps(int projectId, int empId, Map<Integer, EmployeeIntervals> employees) {
+        var changed = employees.get(empId);
+        for (var entry : employees.entrySet()) {
+            var otherId = entry.getKey();
+            if (otherId == empId) {
+                continue;
+            }
+            var other = entry.getValue();
+            var overlap = Main.calculateOverlap(changed.from, changed.to, changed.from.length,
+                    other.from, other.to, other.from.length);
+            leaderboard.setProjectOverlap(new EmployeePair(empId, otherId), projectId, overlap);
+            if (overlap > 0) {
+                log.debug(PROJECT_OVERLAP, projectId, Math.min(empId, otherId), Math.max(empId, otherId), overlap);
+            }
+        }
+    }
+
+    private static long pack(EmployeeWorkDuration workDuration) {
+        return Main.packInterval(Math.toIntExact(workDuration.getDateFrom().toEpochDay()),
+                Math.toIntExact(workDuration.getDateTo().toEpochDay()));
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.example.util.Constants.CSV_EXTENSIONS;
+import static org.example.util.Constants.GLOB_CHARACTERS;
+import static org.example.util.ErrorConstants.NO_MATCHING_INPUTS;
+
+/**
+ * Expands input arguments into the CSV files to read. An argument is a file, a directory, whose
+ * {@code .csv}, {@code .csv.gz} and {@code .csv.zst} files are read in name order, or a glob such as
+ * {@code exports/2024-*.csv} or {@code exports/**.csv}, matched below the part of the path before its
+ * first wildcard. Files named more than once are read once, in order of first mention.
+ */
+public final class InputFiles {
+
+    private InputFiles() {
+    }
+
+    public static List<Path> resolve(Collection<String> arguments) {
+        var files = new LinkedHashSet<Path>();
+        for (var argument : arguments) {
+            var matched = isGlob(argument) ? matchGlob(argument) : list(Path.of(argument));
+            if (matched.isEmpty()) {
+                throw new IllegalArgumentException(String.format(NO_MATCHING_INPUTS, argument));
+            }
+            for (var file : matched) {
+                files.add(file.toAbsolutePath().normalize());
+            }
+        }
+        return List.copyOf(files);
+    }
+
+    private static boolean isGlob(String argument) {
+        return argument.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0);
+    }
+
+    /**
+     * The file itself, or the CSV files directly inside a directory. A missing file is kept, so that
+     * reading it reports the usual error.
+     */
+    private static List<Path> list(Path path) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (var entries = Files.list(path)) {
+            return sorted(entries.filter(InputFiles::isCsvFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> matchGlob(String glob) {
+        var normalized = glob.replace('\\', '/');
+        var wildcard = 0;
+        while (GLOB_CHARACTERS.indexOf(normalized.charAt(wildcard)) < 0) {
+            wildcard++;
+        }
+        var separator = normalized.lastIndexOf('/', wildcard);
+        var base = Path.of(separator < 0 ? "." : separator == 0 ? "/" : normalized.substring(0, separator));
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+
+        var matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalized.substring(separator + 1));
+        try (var entries = Files.walk(base)) {
+            return sorted(entries.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(base.relativize(file))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isCsvFile(Path path) {
+        var name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Files.isRegularFile(path) && CSV_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    private static List<Path> sorted(Stream<Path> files) {
+        return files.sorted().toList();
+    }
+}
@@ -1,21 +1,33 @@
 package org.example.core;
 
 import lombok.extern.log4j.Log4j2;
+import org.example.cli.CollaborationCli;
 import org.example.comparator.EmployeeCollaborationComparator;
 import org.example.exception.CsvValidationException;
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.RejectReason;
+import org.example.metrics.Stage;
+import org.example.model.CollaborationResults;
+import org.example.model.CollaborationSink;
 import org.example.model.EmployeePair;
 import org.example.model.EmployeeWorkDuration;
+import org.example.model.PairScore;
+import org.example.model.WorkDurationSink;
+import org.example.model.WorkDurationStore;
 import org.example.ui.EmployeeCollaborationUI;
+import org.example.util.DateParser;
+import org.example.util.RejectedRowLog;
 
-import javax.swing.*;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.example.util.Constants.*;
@@ -26,11 +38,16 @@ import static org.example.util.ValidationUtil.*;
 @Log4j2
 public class Main {
 
+    /**
+     * Without arguments opens the UI; with arguments runs headless in batch mode, see {@link CollaborationCli}.
+     * The UI class is only referenced on its own branch, so batch runs never load AWT or Swing.
+     */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            EmployeeCollaborationUI ui = new EmployeeCollaborationUI();
-            ui.setVisible(true);
-        });
+        if (args.length > 0) {
+            System.exit(CollaborationCli.run(args));
+        } else {
+            EmployeeCollaborationUI.main(args);
+        }
     }
 
     /**
@@ -44,32 +61,254 @@ public class Main {
     }
 
     public static Set<EmployeeWorkDuration> parseCsvContent(InputStream is) {
+        var employeeRecords = new HashSet<EmployeeWorkDuration>();
+        parseCsvContent(is, true, (empId, projectId, fromEpochDay, toEpochDay) -> employeeRecords.add(
+                EmployeeWorkDuration.ofEpochDays(empId, projectId, fromEpochDay, toEpochDay)));
+        return employeeRecords;
+    }
+
+    public static WorkDurationStore parseCsvContentToStore(InputStream is) {
+        return parseCsvContentToStore(is, true);
+    }
+
+    /**
+     * Like {@link #parseCsvContentToStore(InputStream)}; with {@code decompress} false a gzip or zstd stream is
+     * not decoded but read as it is, for callers that decode and limit the stream themselves.
+     */
+    public static WorkDurationStore parseCsvContentToStore(InputStream is, boolean decompress) {
+        var store = new WorkDurationStore();
+        parseCsvContent(is, decompress, store);
+        return store;
+    }
+
+    public static WorkDurationStore parseCsvFile(Path path) {
+        return parseCsvFile(path, ParallelCsvParser.defaultParallelism());
+    }
+
+    /**
+     * Parses a CSV file on disk through memory-mapped windows, without the per-field Strings of
+     * {@link #parseCsvContent(InputStream)}. Rows are validated and reported the same way.
+     * With a parallelism above 1 the file is split into line-aligned chunks parsed on a fork-join pool.
+     * A gzip or zstd compressed file is recognised by its content and decompressed on a separate thread
+     * while it is parsed, see {@link CompressedCsvParser}.
+     */
+    public static WorkDurationStore parseCsvFile(Path path, int parallelism) {
+        return parseCsvFile(path, parallelism, AnalysisProgress.NONE);
+    }
+
+    /**
+     * Like {@link #parseCsvFile(Path, int)}, reporting bytes and lines read to {@code progress};
+     * throws {@link org.example.exception.AnalysisCancelledException} once {@code progress} is cancelled.
+     */
+    public static WorkDurationStore parseCsvFile(Path path, int parallelism, AnalysisProgress progress) {
+        return parseCsvFile(path, parallelism, progress, new DateParser());
+    }
+
+    private static WorkDurationStore parseCsvFile(Path path, int parallelism, AnalysisProgress progress,
+                                                  DateParser dateParser) {
+        var store = new WorkDurationStore();
+        parseCsvFile(path, parallelism, store, progress, dateParser);
+        return store;
+    }
+
+    /**
+     * Like {@link #parseCsvFile(Path, int, AnalysisProgress)}, handing the rows to {@code sink}. Only a
+     * {@link WorkDurationStore} is filled in parallel; any other sink receives the rows in file order on the
+     * calling thread.
+     */
+    static void parseCsvFile(Path path, int parallelism, WorkDurationSink sink, AnalysisProgress progress) {
+        parseCsvFile(path, parallelism, sink, progress, new DateParser());
+    }
+
+    private static void parseCsvFile(Path path, int parallelism, WorkDurationSink sink, AnalysisProgress progress,
+                                     DateParser dateParser) {
+        var startTime = System.nanoTime();
+        try {
+            var rejections = new RejectedRowLog();
+            int acceptedRecords;
+            var compression = Compression.detect(path);
+            if (compression != Compression.NONE) {
+                var parser = new CompressedCsvParser(dateParser, rejections, sink,
+                        new ParseProgressTracker(progress, Files.size(path)));
+                parser.parse(path, compression);
+                acceptedRecords = parser.getAcceptedRecords();
+            } else if (parallelism > 1 && sink instanceof WorkDurationStore store) {
+                acceptedRecords = new ParallelCsvParser(parallelism).parse(path, dateParser, rejections, store, progress);
+            } else {
+                var parser = new MappedCsvParser(dateParser, rejections, sink,
+                        new ParseProgressTracker(progress, Files.size(path)));
+                parser.parse(path);
+                acceptedRecords = parser.getAcceptedRecords();
+            }
+            dateParser.logDetectedFormats();
+            rejections.logSummary();
+            PipelineMetrics.get().stop(Stage.PARSE, startTime);
+
+            validateResults(acceptedRecords);
+        } catch (CsvValidationException e) {
+            log.error(CSV_PROCESSING_ERROR, e.getMessage());
+            throw new RuntimeException(CSV_PROCESS_FAIL, e);
+        } catch (IOException e) {
+            log.error(IO_ERROR, e);
+            throw new RuntimeException(FILE_READ_FAIL, e);
+        }
+    }
+
+    /**
+     * The file's rows from its {@link WorkDurationSnapshot} when one matches the file, otherwise parsed with
+     * {@link #parseCsvFile(Path, int, AnalysisProgress)} and saved as a new snapshot.
+     */
+    public static WorkDurationStore loadWorkDurations(Path path, int parallelism, AnalysisProgress progress) {
+        if (!WorkDurationSnapshot.isEnabled()) {
+            return parseCsvFile(path, parallelism, progress);
+        }
+        var snapshot = WorkDurationSnapshot.load(path);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getWorkDurations();
+        }
+        var dateParser = new DateParser();
+        var workDurations = parseCsvFile(path, parallelism, progress, dateParser);
+        saveSnapshot(path, workDurations, dateParser, null, NO_SNAPSHOT_RESULTS);
+        return workDurations;
+    }
+
+    /**
+     * The rows of all files, loaded in parallel with {@link #loadWorkDurations(Path, int, AnalysisProgress)},
+     * with rows that occur more than once across or within the files kept once, in file order. The files
+     * share the {@code parallelism} workers, and {@code progress} hears about each file separately.
+     */
+    public static WorkDurationStore loadWorkDurations(List<Path> paths, int parallelism, AnalysisProgress progress) {
+        if (paths.size() == 1) {
+            return loadWorkDurations(paths.get(0), parallelism, progress);
+        }
+        var fileParallelism = Math.max(1, parallelism / paths.size());
+        var stores = paths.parallelStream()
+                .map(path -> loadWorkDurations(path, fileParallelism, progress))
+                .toList();
+
+        var startTime = System.nanoTime();
+        var merged = WorkDurationDeduplicator.merge(stores);
+        var elapsed = PipelineMetrics.get().stop(Stage.DEDUPLICATE, startTime);
+        log.info(INPUT_FILES_MERGED, paths.size(), merged.size(),
+                stores.stream().mapToInt(WorkDurationStore::size).sum() - merged.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return merged;
+    }
+
+    /**
+     * Parses the file and collects its best {@code k} collaborations. Results of unchanged files come from the
+     * shared {@link CollaborationResultCache}; otherwise the rows and results stored in the file's
+     * {@link WorkDurationSnapshot} are reused when they match, and fresh results are saved with the snapshot.
+     */
+    public static CollaborationResults analyzeFile(Path path,
+                                                   int k,
+                                                   OverlapEngine engine,
+                                                   int parallelism,
+                                                   AnalysisProgress progress) {
+        try {
+            return CollaborationResultCache.shared().getOrCompute(path, k, engine,
+                    () -> analyzeFileUncached(path, k, engine, parallelism, progress));
+        } catch (IOException e) {
+            log.error(IO_ERROR, e);
+            throw new RuntimeException(FILE_READ_FAIL, e);
+        }
+    }
+
+    /**
+     * Like {@link #collectCollaborations(WorkDurationStore, int, OverlapEngine, AnalysisProgress)}, answered
+     * from the shared {@link CollaborationResultCache} when the same rows were analysed with the same options.
+     */
+    public static CollaborationResults collectCollaborationsCached(WorkDurationStore workDurations,
+                                                                   int k,
+                                                                   OverlapEngine engine,
+                                                                   AnalysisProgress progress) {
+        return CollaborationResultCache.shared().getOrCompute(workDurations, k, engine,
+                () -> collectCollaborations(workDurations, k, engine, progress));
+    }
+
+    private static CollaborationResultCache.FileResults analyzeFileUncached(Path path,
+                                                                            int k,
+                                                                            OverlapEngine engine,
+                                                                            int parallelism,
+                                                                            AnalysisProgress progress) {
+        if (WorkDurationSnapshot.isEnabled()) {
+            var snapshot = WorkDurationSnapshot.load(path);
+            if (snapshot.isPresent()) {
+                var nullDate = snapshot.get().getNullDate();
+                var cached = snapshot.get().getResults(k);
+                if (cached.isPresent()) {
+                    return new CollaborationResultCache.FileResults(cached.get(), nullDate);
+                }
+                var results = collectCollaborations(snapshot.get().getWorkDurations(), k, engine, progress);
+                snapshot.get().withResults(results, k).save();
+                return new CollaborationResultCache.FileResults(results, nullDate);
+            }
+        }
+
+        var dateParser = new DateParser();
+        var workDurations = parseCsvFile(path, parallelism, progress, dateParser);
+        var results = collectCollaborations(workDurations, k, engine, progress);
+        if (WorkDurationSnapshot.isEnabled()) {
+            saveSnapshot(path, workDurations, dateParser, results, k);
+        }
+        return new CollaborationResultCache.FileResults(results, nullDate(dateParser));
+    }
+
+    /**
+     * Saves the rows, recording the day NULL dates were resolved to if the file has any.
+     */
+    private static void saveSnapshot(Path path, WorkDurationStore workDurations, DateParser dateParser,
+                                     CollaborationResults results, int k) {
+        try {
+            var snapshot = WorkDurationSnapshot.of(path, workDurations, nullDate(dateParser));
+            (results == null ? snapshot : snapshot.withResults(results, k)).save();
+        } catch (IOException e) {
+            log.warn(SNAPSHOT_WRITE_FAILED, WorkDurationSnapshot.snapshotPathFor(path), e.getMessage());
+        }
+    }
+
+    /**
+     * The day the parser resolved NULL dates to, {@code null} if it has not seen any.
+     */
+    private static LocalDate nullDate(DateParser dateParser) {
+        return dateParser.getNullDateCount() > 0 ? dateParser.getToday() : null;
+    }
+
+    private static void parseCsvContent(InputStream is, boolean decompress, WorkDurationSink sink) {
         try (is) {
             if (is == null) {
                 throw new CsvValidationException(NULL_STREAM);
             }
 
-            var employeeRecords = new HashSet<EmployeeWorkDuration>();
-
-            try (var reader = new BufferedReader(new InputStreamReader(is))) {
+            try (var reader = new BufferedReader(new InputStreamReader(decompress ? Compression.decoding(is) : is))) {
                 var headerLine = reader.readLine();
                 validateHeader(headerLine);
 
+                var startTime = System.nanoTime();
+                var dateParser = new DateParser();
+                var rejections = new RejectedRowLog();
                 var lineNumber = 1;
+                var acceptedRecords = 0;
                 String line;
                 while ((line = reader.readLine()) != null) {
                     lineNumber++;
-                    processDataLine(line, lineNumber, employeeRecords);
+                    if (processDataLine(line, lineNumber, dateParser, rejections, sink)) {
+                        acceptedRecords++;
+                    }
                 }
+                dateParser.logDetectedFormats();
+                rejections.logSummary();
+                var metrics = PipelineMetrics.get();
+                metrics.add(Counter.ROWS_READ, lineNumber - 1);
+                metrics.add(Counter.ROWS_ACCEPTED, acceptedRecords);
+                metrics.stop(Stage.PARSE, startTime);
 
-                validateResults(employeeRecords);
+                validateResults(acceptedRecords);
 
             } catch (IOException e) {
                 log.error(CSV_READ_ERROR, e.getMessage());
                 throw new CsvValidationException(CSV_READ_FAIL + e.getMessage());
             }
-
-            return employeeRecords;
         } catch (CsvValidationException e) {
             log.error(CSV_PROCESSING_ERROR, e.getMessage());
             throw new RuntimeException(CSV_PROCESS_FAIL, e);
@@ -79,76 +318,207 @@ public class Main {
         }
     }
 
-    private static void processDataLine(String line, int lineNumber, Set<EmployeeWorkDuration> records) {
+    private static boolean processDataLine(String line, int lineNumber, DateParser dateParser,
+                                           RejectedRowLog rejections, WorkDurationSink sink) {
         if (line.trim().isEmpty()) {
-            return;
+            return false;
         }
 
         var parts = line.split(CSV_DELIMITER);
         if (parts.length < EXPECTED_COLUMNS) {
-            log.warn(INVALID_COLUMNS, lineNumber, EXPECTED_COLUMNS, parts.length);
-            return;
+            rejections.warn(RejectReason.INVALID_COLUMNS, INVALID_COLUMNS, lineNumber, EXPECTED_COLUMNS, parts.length);
+            return false;
         }
 
-        var employeeWorkDuration = parseEmployeeWorkDuration(parts, lineNumber);
-        if (employeeWorkDuration != null) {
-            records.add(employeeWorkDuration);
-        }
+        return parseEmployeeWorkDuration(parts, lineNumber, dateParser, rejections, sink);
     }
 
     public static SortedMap<EmployeePair, Map<Integer, Long>> findLongestCollaboration(Set<EmployeeWorkDuration> workDurations) {
-        var startTime = System.currentTimeMillis();
+        return findLongestCollaboration(workDurations, OverlapEngine.fromSystemProperty());
+    }
 
-        var workDurationsByProjectIdMap = groupWorkDurationsByProject(workDurations);
+    public static SortedMap<EmployeePair, Map<Integer, Long>> findLongestCollaboration(Set<EmployeeWorkDuration> workDurations,
+                                                                                       OverlapEngine engine) {
+        return findLongestCollaboration(WorkDurationStore.of(workDurations), engine);
+    }
+
+    public static SortedMap<EmployeePair, Map<Integer, Long>> findLongestCollaboration(WorkDurationStore workDurations) {
+        return findLongestCollaboration(workDurations, OverlapEngine.fromSystemProperty());
+    }
+
+    public static SortedMap<EmployeePair, Map<Integer, Long>> findLongestCollaboration(WorkDurationStore workDurations,
+                                                                                       OverlapEngine engine) {
+        return rankCollaborations(workDurations, engine, Integer.MAX_VALUE);
+    }
+
+    public static SortedMap<EmployeePair, Map<Integer, Long>> findTopCollaborations(Set<EmployeeWorkDuration> workDurations, int k) {
+        return findTopCollaborations(WorkDurationStore.of(workDurations), k, OverlapEngine.fromSystemProperty());
+    }
+
+    /**
+     * Like {@link #findLongestCollaboration(WorkDurationStore, OverlapEngine)}, but only keeps the best {@code k}
+     * pairs. Pairs are ranked through a bounded heap, so ranking takes O(n log k) time and O(k) memory.
+     */
+    public static SortedMap<EmployeePair, Map<Integer, Long>> findTopCollaborations(WorkDurationStore workDurations,
+                                                                                    int k,
+                                                                                    OverlapEngine engine) {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_TOP_K, k));
+        }
+        return rankCollaborations(workDurations, engine, k);
+    }
+
+    /**
+     * The best {@code k} pairs (pass {@link Integer#MAX_VALUE} for all) as flat pair/project rows,
+     * for callers that show every row rather than walk the sorted map.
+     */
+    public static CollaborationResults collectCollaborations(WorkDurationStore workDurations,
+                                                             int k,
+                                                             OverlapEngine engine) {
+        return collectCollaborations(workDurations, k, engine, AnalysisProgress.NONE);
+    }
+
+    public static CollaborationResults collectCollaborations(WorkDurationStore workDurations,
+                                                             int k,
+                                                             OverlapEngine engine,
+                                                             AnalysisProgress progress) {
+        var results = new CollaborationResults();
+        streamCollaborations(workDurations, k, engine, results, progress);
+        return results;
+    }
+
+    /**
+     * Streams the best {@code k} pairs to {@code sink} in ranking order (pass {@link Integer#MAX_VALUE} for all),
+     * without building the sorted result map. Returns the number of pairs written.
+     */
+    public static int streamCollaborations(WorkDurationStore workDurations,
+                                           int k,
+                                           OverlapEngine engine,
+                                           CollaborationSink sink) {
+        return streamCollaborations(workDurations, k, engine, sink, AnalysisProgress.NONE);
+    }
 
-        var collaborationsByProjectMap = new ConcurrentHashMap<EmployeePair, Map<Integer, Long>>();
-        workDurationsByProjectIdMap.entrySet().parallelStream()
-                .forEach(entry -> {
-                    var projectId = entry.getKey();
-                    var durationsInProject = entry.getValue();
-                    processOneProject(projectId, durationsInProject, collaborationsByProjectMap);
-                });
+    /**
+     * Like {@link #streamCollaborations(WorkDurationStore, int, OverlapEngine, CollaborationSink)}, reporting
+     * finished projects to {@code progress} and stopping between projects once it is cancelled.
+     */
+    public static int streamCollaborations(WorkDurationStore workDurations,
+                                           int k,
+                                           OverlapEngine engine,
+                                           CollaborationSink sink,
+                                           AnalysisProgress progress) {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_TOP_K, k));
+        }
+        var metrics = PipelineMetrics.get();
+        var startTime = System.nanoTime();
 
-        var comparator = new EmployeeCollaborationComparator(collaborationsByProjectMap);
-        var sortedCollaborations = new TreeMap<EmployeePair, Map<Integer, Long>>(comparator);
-        sortedCollaborations.putAll(collaborationsByProjectMap);
+        var overlaps = calculateOverlaps(workDurations, engine, progress);
+        var ranked = rankPairs(overlaps, k);
+        progress.checkCancelled();
+        var resultsStart = System.nanoTime();
+        overlaps.forEachRanked(ranked, sink);
+        metrics.stop(Stage.RESULTS, resultsStart);
+
+        log.info(PROCESSING_TIME, TimeUnit.NANOSECONDS.toMillis(metrics.stop(Stage.ANALYSIS, startTime)));
+
+        return ranked.length;
+    }
 
-        var fullySorted = buildFullySortedMap(sortedCollaborations, comparator);
+    private static SortedMap<EmployeePair, Map<Integer, Long>> rankCollaborations(WorkDurationStore workDurations,
+                                                                                  OverlapEngine engine,
+                                                                                  int limit) {
+        var metrics = PipelineMetrics.get();
+        var startTime = System.nanoTime();
+
+        var overlaps = calculateOverlaps(workDurations, engine, AnalysisProgress.NONE);
+        var ranked = rankPairs(overlaps, limit);
+        var resultsStart = System.nanoTime();
+        var fullySorted = buildFullySortedMap(overlaps.toCollaborationMap(ranked), ranked);
+        metrics.stop(Stage.RESULTS, resultsStart);
 
         logTopCollaboration(fullySorted);
 
-        log.info(PROCESSING_TIME, (System.currentTimeMillis() - startTime));
+        log.info(PROCESSING_TIME, TimeUnit.NANOSECONDS.toMillis(metrics.stop(Stage.ANALYSIS, startTime)));
 
         return fullySorted;
     }
 
+    /**
+     * Runs the overlap stage of every project through {@link ProjectScheduler}, which batches small projects
+     * and splits large ones, so a single huge project does not keep one worker busy while the others idle.
+     */
+    private static PairProjectOverlapMap calculateOverlaps(WorkDurationStore workDurations,
+                                                           OverlapEngine engine,
+                                                           AnalysisProgress progress) {
+        var groupStart = System.nanoTime();
+        var rowsByProject = groupWorkDurationsByProject(workDurations);
+        PipelineMetrics.get().stop(Stage.GROUP, groupStart);
+
+        return new ProjectScheduler(workDurations, engine, progress).calculateOverlaps(rowsByProject);
+    }
+
+    private static PairScore[] rankPairs(PairProjectOverlapMap overlaps, int limit) {
+        var startTime = System.nanoTime();
+        var ranked = overlaps.rankPairs(limit);
+        PipelineMetrics.get().stop(Stage.RANK, startTime);
+        return ranked;
+    }
+
+    /**
+     * @param ranked scores of the pairs to return, already in ranking order
+     */
     private static TreeMap<EmployeePair, Map<Integer, Long>> buildFullySortedMap(
-            TreeMap<EmployeePair, Map<Integer, Long>> sortedCollaborations,
-            Comparator<EmployeePair> comparator
+            Map<EmployeePair, Map<Integer, Long>> collaborationsByProject,
+            PairScore[] ranked
     ) {
-        return sortedCollaborations.entrySet()
-                .stream()
+        var scores = new HashMap<EmployeePair, PairScore>(ranked.length * 2);
+        var fullySorted = new TreeMap<EmployeePair, Map<Integer, Long>>(new EmployeeCollaborationComparator(scores));
+        for (var score : ranked) {
+            var pair = score.toPair();
+            scores.put(pair, score);
+            fullySorted.put(pair, sortProjectsByDays(collaborationsByProject.get(pair)));
+        }
+        return fullySorted;
+    }
+
+    static Map<Integer, Long> sortProjectsByDays(Map<Integer, Long> daysByProject) {
+        return daysByProject.entrySet().stream()
+                .sorted(
+                        Map.Entry.<Integer, Long>comparingByValue().reversed()
+                                .thenComparing(Map.Entry.comparingByKey())
+                )
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
-                        e -> e.getValue().entrySet().stream()
-                                .sorted(
-                                        Map.Entry.<Integer, Long>comparingByValue().reversed()
-                                                .thenComparing(Map.Entry.comparingByKey())
-                                )
-                                .collect(Collectors.toMap(
-                                        Map.Entry::getKey,
-                                        Map.Entry::getValue,
-                                        (oldVal, newVal) -> oldVal,
-                                        LinkedHashMap::new
-                                )),
+                        Map.Entry::getValue,
                         (oldVal, newVal) -> oldVal,
-                        () -> new TreeMap<>(comparator)
+                        LinkedHashMap::new
                 ));
     }
 
-    private static Map<Integer, List<EmployeeWorkDuration>> groupWorkDurationsByProject(Set<EmployeeWorkDuration> workDurations) {
-        return workDurations.stream()
-                .collect(Collectors.groupingBy(EmployeeWorkDuration::getProjectId));
+    /**
+     * Groups row indices by project with a single primitive sort of {@code projectId << 32 | row} keys.
+     */
+    static List<int[]> groupWorkDurationsByProject(WorkDurationStore workDurations) {
+        var keys = new long[workDurations.size()];
+        for (var row = 0; row < keys.length; row++) {
+            keys[row] = ((long) workDurations.getProjectId(row) << 32) | row;
+        }
+        Arrays.parallelSort(keys);
+
+        var rowsByProject = new ArrayList<int[]>();
+        var groupStart = 0;
+        for (var i = 1; i <= keys.length; i++) {
+            if (i == keys.length || (keys[i] >>> 32) != (keys[groupStart] >>> 32)) {
+                var rows = new int[i - groupStart];
+                for (var j = 0; j < rows.length; j++) {
+                    rows[j] = (int) keys[groupStart + j];
+                }
+                rowsByProject.add(rows);
+                groupStart = i;
+            }
+        }
+        return rowsByProject;
     }
 
     private static void logTopCollaboration(SortedMap<EmployeePair, Map<Integer, Long>> sortedCollaborations) {
@@ -165,84 +535,157 @@ public class Main {
         }
     }
 
-    private static void processOneProject(int projectId,
-                                          List<EmployeeWorkDuration> durationsInProject,
-                                          Map<EmployeePair, Map<Integer, Long>> projectCollaborations) {
-        var byEmployee = durationsInProject.stream()
-                .collect(Collectors.groupingBy(EmployeeWorkDuration::getEmpId));
-
-        var mergedDurationsByEmployee = byEmployee.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> mergeIntervalsForOneEmployee(e.getValue())
-                ));
+    static void processOneProject(WorkDurationStore workDurations,
+                                  int[] rows,
+                                  PairProjectOverlapMap projectCollaborations,
+                                  OverlapEngine engine) {
+        var metrics = PipelineMetrics.get();
+        var mergeStart = System.nanoTime();
+        var timeline = buildProjectTimeline(workDurations, rows);
+        var overlapStart = System.nanoTime();
+        metrics.record(Stage.MERGE, overlapStart - mergeStart);
+        var pairsBefore = projectCollaborations.size();
+
+        switch (engine.forProject(timeline)) {
+            case PAIRWISE -> accumulatePairwiseOverlaps(timeline, 0, timeline.employeeCount(), projectCollaborations);
+            case SWEEP_LINE -> SweepLineOverlapCalculator.calculateOverlaps(timeline)
+                    .forEach((pairKey, projectId, overlap) -> recordOverlap(projectId, pairKey, overlap, projectCollaborations));
+            case BITSET -> BitsetOverlapCalculator.of(timeline)
+                    .accumulateOverlaps(0, timeline.employeeCount(), projectCollaborations);
+            case ADAPTIVE -> throw new IllegalStateException(String.format(UNRESOLVED_ENGINE, engine));
+        }
 
-        var employeeIds = new ArrayList<>(mergedDurationsByEmployee.keySet());
-        Collections.sort(employeeIds);
+        metrics.stop(Stage.OVERLAP, overlapStart);
+        metrics.add(Counter.PROJECTS, 1);
+        metrics.add(Counter.PAIRS_WITH_OVERLAP, projectCollaborations.size() - pairsBefore);
+        metrics.projectSize(rows.length);
+    }
 
-        for (int i = 0; i < employeeIds.size() - 1; i++) {
-            for (int j = i + 1; j < employeeIds.size(); j++) {
-                var emp1 = employeeIds.get(i);
-                var emp2 = employeeIds.get(j);
-                var overlap = calculateOverlapBetweenTwoEmployees(
-                        mergedDurationsByEmployee.get(emp1),
-                        mergedDurationsByEmployee.get(emp2)
-                );
+    /**
+     * Sorts the project's rows by employee and merges each employee's intervals.
+     * Intervals are packed as {@code from << 32 | to}, with only the low word sign-flipped so that negative end
+     * days do not borrow from the start, which lets one signed primitive sort order them by start and then by end.
+     */
+    static ProjectTimeline buildProjectTimeline(WorkDurationStore workDurations, int[] rows) {
+        var byEmployee = new long[rows.length];
+        for (var i = 0; i < rows.length; i++) {
+            byEmployee[i] = ((long) workDurations.getEmpId(rows[i]) << 32) | i;
+        }
+        Arrays.sort(byEmployee);
+
+        var employeeIds = new int[rows.length];
+        var offsets = new int[rows.length + 1];
+        var from = new int[rows.length];
+        var to = new int[rows.length];
+        var packed = new long[rows.length];
+        var employeeCount = 0;
+        var intervalCount = 0;
+
+        var groupStart = 0;
+        for (var i = 1; i <= rows.length; i++) {
+            if (i < rows.length && (byEmployee[i] >>> 32) == (byEmployee[groupStart] >>> 32)) {
+                continue;
+            }
+            for (var j = groupStart; j < i; j++) {
+                var row = rows[(int) byEmployee[j]];
+                packed[j - groupStart] = packInterval(workDurations.getFromEpochDay(row), workDurations.getToEpochDay(row));
+            }
+            employeeIds[employeeCount] = (int) (byEmployee[groupStart] >>> 32);
+            offsets[employeeCount] = intervalCount;
+            intervalCount += mergeIntervalsForOneEmployee(packed, i - groupStart, from, to, intervalCount);
+            employeeCount++;
+            groupStart = i;
+        }
+        offsets[employeeCount] = intervalCount;
 
-                if (overlap > 0) {
-                    var pair = new EmployeePair(emp1, emp2);
+        return new ProjectTimeline(workDurations.getProjectId(rows[0]),
+                Arrays.copyOf(employeeIds, employeeCount), Arrays.copyOf(offsets, employeeCount + 1),
+                Arrays.copyOf(from, intervalCount), Arrays.copyOf(to, intervalCount));
+    }
 
-                    projectCollaborations
-                            .computeIfAbsent(pair, k -> new ConcurrentHashMap<>())
-                            .merge(projectId, overlap, Long::sum);
+    /**
+     * Compares every employee in {@code [fromEmployee, toEmployee)} with all employees after it.
+     */
+    static void accumulatePairwiseOverlaps(ProjectTimeline timeline,
+                                           int fromEmployee,
+                                           int toEmployee,
+                                           PairProjectOverlapMap projectCollaborations) {
+        var employees = (long) timeline.employeeCount();
+        PipelineMetrics.get().add(Counter.PAIRS_EVALUATED,
+                (toEmployee - fromEmployee) * (2 * employees - fromEmployee - toEmployee - 1) / 2);
+        for (int i = fromEmployee; i < toEmployee; i++) {
+            for (int j = i + 1; j < timeline.employeeCount(); j++) {
+                var overlap = calculateOverlapBetweenTwoEmployees(timeline, i, j);
 
-                    log.debug(PROJECT_OVERLAP, projectId, emp1, emp2, overlap);
+                if (overlap > 0) {
+                    var pairKey = EmployeePair.pack(timeline.employeeId(i), timeline.employeeId(j));
+                    recordOverlap(timeline.getProjectId(), pairKey, overlap, projectCollaborations);
                 }
             }
         }
     }
 
-    private static List<EmployeeWorkDuration> mergeIntervalsForOneEmployee(List<EmployeeWorkDuration> intervals) {
-        if (intervals.size() <= 1) {
-            return intervals;
-        }
+    static void recordOverlap(int projectId,
+                              long pairKey,
+                              long overlap,
+                              PairProjectOverlapMap projectCollaborations) {
+        projectCollaborations.add(pairKey, projectId, overlap);
 
-        var sorted = intervals.stream()
-                .sorted(Comparator
-                        .comparing(EmployeeWorkDuration::getDateFrom)
-                        .thenComparing(EmployeeWorkDuration::getDateTo))
-                .toList();
+        if (log.isDebugEnabled()) {
+            log.debug(PROJECT_OVERLAP, projectId, (int) (pairKey >>> 32), (int) pairKey, overlap);
+        }
+    }
 
-        var merged = new ArrayList<EmployeeWorkDuration>();
-        var currentStart = sorted.getFirst().getDateFrom();
-        var currentEnd = sorted.getFirst().getDateTo();
-        var empId = sorted.getFirst().getEmpId();
-        var projectId = sorted.getFirst().getProjectId();
-
-        for (var i = 1; i < sorted.size(); i++) {
-            var next = sorted.get(i);
-            if (!next.getDateFrom().isAfter(currentEnd)) {
-                if (next.getDateTo().isAfter(currentEnd)) {
-                    currentEnd = next.getDateTo();
+    /**
+     * Merges {@code count} packed intervals in place and writes the result to {@code from}/{@code to}
+     * starting at {@code offset}. Returns the number of merged intervals.
+     */
+    static int mergeIntervalsForOneEmployee(long[] packedIntervals, int count, int[] from, int[] to, int offset) {
+        Arrays.sort(packedIntervals, 0, count);
+
+        var merged = 0;
+        var currentStart = unpackFrom(packedIntervals[0]);
+        var currentEnd = unpackTo(packedIntervals[0]);
+
+        for (var i = 1; i < count; i++) {
+            var nextStart = unpackFrom(packedIntervals[i]);
+            var nextEnd = unpackTo(packedIntervals[i]);
+            if (nextStart <= currentEnd) {
+                if (nextEnd > currentEnd) {
+                    currentEnd = nextEnd;
                 }
             } else {
-                merged.add(new EmployeeWorkDuration(empId, projectId, currentStart, currentEnd));
-                currentStart = next.getDateFrom();
-                currentEnd = next.getDateTo();
+                from[offset + merged] = currentStart;
+                to[offset + merged] = currentEnd;
+                merged++;
+                currentStart = nextStart;
+                currentEnd = nextEnd;
             }
         }
-        merged.add(new EmployeeWorkDuration(empId, projectId, currentStart, currentEnd));
-        return merged;
+        from[offset + merged] = currentStart;
+        to[offset + merged] = currentEnd;
+        return merged + 1;
     }
 
-    private static long calculateOverlapBetweenTwoEmployees(List<EmployeeWorkDuration> intervals1,
-                                                            List<EmployeeWorkDuration> intervals2) {
+    static long packInterval(int fromEpochDay, int toEpochDay) {
+        return ((long) fromEpochDay << 32) | Integer.toUnsignedLong(toEpochDay ^ Integer.MIN_VALUE);
+    }
+
+    static int unpackFrom(long packedInterval) {
+        return (int) (packedInterval >> 32);
+    }
+
+    static int unpackTo(long packedInterval) {
+        return (int) packedInterval ^ Integer.MIN_VALUE;
+    }
+
+    private static long calculateOverlapBetweenTwoEmployees(ProjectTimeline timeline, int employee1, int employee2) {
         var total = 0L;
-        for (var w1 : intervals1) {
-            for (var w2 : intervals2) {
+        for (var i = timeline.intervalStart(employee1); i < timeline.intervalEnd(employee1); i++) {
+            for (var j = timeline.intervalStart(employee2); j < timeline.intervalEnd(employee2); j++) {
                 var overlap = getOverlapInDays(
-                        w1.getDateFrom(), w1.getDateTo(),
-                        w2.getDateFrom(), w2.getDateTo()
+                        timeline.fromEpochDay(i), timeline.toEpochDay(i),
+                        timeline.fromEpochDay(j), timeline.toEpochDay(j)
                 );
                 if (overlap > 0) {
                     total += overlap;
@@ -252,12 +695,28 @@ public class Main {
         return total;
     }
 
-    private static long getOverlapInDays(LocalDate start1, LocalDate end1,
-                                         LocalDate start2, LocalDate end2) {
-        var overlapStart = start1.isAfter(start2) ? start1 : start2;
-        var overlapEnd = end1.isBefore(end2) ? end1 : end2;
+    /**
+     * Total overlap in days of two employees' merged intervals, each sorted by start day. Walks both lists once.
+     */
+    static long calculateOverlap(int[] from1, int[] to1, int count1, int[] from2, int[] to2, int count2) {
+        var total = 0L;
+        var i = 0;
+        var j = 0;
+        while (i < count1 && j < count2) {
+            total += getOverlapInDays(from1[i], to1[i], from2[j], to2[j]);
+            if (to1[i] < to2[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return total;
+    }
+
+    static long getOverlapInDays(int start1, int end1, int start2, int end2) {
+        var overlapStart = Math.max(start1, start2);
+        var overlapEnd = Math.min(end1, end2);
 
-        return overlapEnd.isBefore(overlapStart) ? 0 :
-                ChronoUnit.DAYS.between(overlapStart, overlapEnd) + 1;
+        return overlapEnd < overlapStart ? 0 : (long) overlapEnd - overlapStart + 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package org.example.core;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.exception.CsvValidationException;
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.RejectReason;
+import org.example.model.WorkDurationSink;
+import org.example.util.AsciiCharSequence;
+import org.example.util.DateParser;
+import org.example.util.RejectedRowLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.util.Constants.*;
+import static org.example.util.ErrorConstants.LINE_TOO_LONG;
+import static org.example.util.LoggingConstants.INVALID_COLUMNS;
+import static org.example.util.ValidationUtil.parseEmployeeWorkDuration;
+import static org.example.util.ValidationUtil.validateHeader;
+
+/**
+ * Reads a CSV file from disk through memory-mapped windows. Delimiters and line breaks are found in the raw
+ * bytes and fields are handed to the validation as reusable byte views, so well-formed rows are parsed
+ * without creating any Strings. Line breaks are handled like {@link java.io.BufferedReader#readLine()},
+ * so warnings carry the same line numbers as the stream-based parser.
+ */
+@Log4j2
+public class MappedCsvParser {
+    private final DateParser dateParser;
+    private final RejectedRowLog rejections;
+    private final WorkDurationSink sink;
+    private final AsciiCharSequence[] fields = new AsciiCharSequence[EXPECTED_COLUMNS];
+    private final ParseProgressTracker progress;
+    private int acceptedRecords;
+
+    public MappedCsvParser(DateParser dateParser, WorkDurationSink sink) {
+        this(dateParser, new RejectedRowLog(), sink, null);
+    }
+
+    public MappedCsvParser(DateParser dateParser, RejectedRowLog rejections, WorkDurationSink sink) {
+        this(dateParser, rejections, sink, null);
+    }
+
+    /**
+     * @param progress receives the bytes and lines parsed every {@link org.example.util.Constants#PROGRESS_REPORT_LINES}
+     *                 lines and cancels parsing when asked; may be null
+     */
+    MappedCsvParser(DateParser dateParser, RejectedRowLog rejections, WorkDurationSink sink,
+                    ParseProgressTracker progress) {
+        this.dateParser = dateParser;
+        this.rejections = rejections;
+        this.sink = sink;
+        this.progress = progress;
+        for (var i = 0; i < fields.length; i++) {
+            fields[i] = new AsciiCharSequence();
+        }
+    }
+
+    public int getAcceptedRecords() {
+        return acceptedRecords;
+    }
+
+    /**
+     * Validates the header and parses every data line of the file.
+     */
+    public void parse(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var position = 0L;
+            var lineNumber = 0;
+
+            while (position < size) {
+                var windowSize = (int) Math.min(size - position, MAPPED_WINDOW_SIZE);
+                var window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                var limit = position + windowSize < size ? lastLineBoundary(window, windowSize) : windowSize;
+                if (limit == 0) {
+                    throw new CsvValidationException(String.format(LINE_TOO_LONG, lineNumber + 1, MAPPED_WINDOW_SIZE));
+                }
+
+                var start = 0;
+                if (lineNumber == 0) {
+                    start = readHeader(window, limit);
+                    lineNumber = 1;
+                }
+                lineNumber = parseLines(window, start, limit, lineNumber);
+                position += limit;
+            }
+
+            if (lineNumber == 0) {
+                validateHeader(null);
+            }
+        }
+    }
+
+    /**
+     * Parses the lines in {@code [start, limit)}, where {@code start} is the beginning of line
+     * {@code lineNumber + 1}. Returns the number of the last line read.
+     */
+    public int parseLines(ByteBuffer buffer, int start, int limit, int lineNumber) {
+        var position = start;
+        var reportedPosition = 0;
+        var reportedLine = lineNumber;
+        var firstLine = lineNumber;
+        var acceptedBefore = acceptedRecords;
+        while (position < limit) {
+            var end = lineEnd(buffer, position, limit);
+            lineNumber++;
+            if (processDataLine(buffer, position, end, lineNumber)) {
+                acceptedRecords++;
+            }
+            position = nextLineStart(buffer, end, limit);
+
+            if (progress != null && lineNumber - reportedLine == PROGRESS_REPORT_LINES) {
+                progress.advance(position - reportedPosition, PROGRESS_REPORT_LINES);
+                reportedPosition = position;
+                reportedLine = lineNumber;
+            }
+        }
+        if (progress != null) {
+            progress.advance(limit - reportedPosition, lineNumber - reportedLine);
+        }
+        var metrics = PipelineMetrics.get();
+        metrics.add(Counter.ROWS_READ, lineNumber - firstLine);
+        metrics.add(Counter.ROWS_ACCEPTED, acceptedRecords - acceptedBefore);
+        return lineNumber;
+    }
+
+    /**
+     * Validates the header line at the start of the buffer and returns where the first data line starts.
+     */
+    static int readHeader(ByteBuffer buffer, int limit) {
+        var headerEnd = lineEnd(buffer, 0, limit);
+        validateHeader(new String(readBytes(buffer, 0, headerEnd), StandardCharsets.UTF_8));
+        return nextLineStart(buffer, headerEnd, limit);
+    }
+
+    /**
+     * Counts the lines in {@code [start, limit)} exactly the way {@link #parseLines} numbers them.
+     */
+    static int countLines(ByteBuffer buffer, int start, int limit) {
+        var lines = 0;
+        var position = start;
+        while (position < limit) {
+            lines++;
+            position = nextLineStart(buffer, lineEnd(buffer, position, limit), limit);
+        }
+        return lines;
+    }
+
+    private boolean processDataLine(ByteBuffer buffer, int start, int end, int lineNumber) {
+        if (isBlank(buffer, start, end)) {
+            return false;
+        }
+
+        // Same column count as String.split: interior empty fields count, trailing ones don't
+        var fieldIndex = 0;
+        var columns = 0;
+        var fieldStart = start;
+        for (var i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == ',') {
+                if (fieldIndex < fields.length) {
+                    fields[fieldIndex].wrap(buffer, fieldStart, i);
+                }
+                if (i > fieldStart) {
+                    columns = fieldIndex + 1;
+                }
+                fieldIndex++;
+                fieldStart = i + 1;
+            }
+        }
+
+        if (columns < EXPECTED_COLUMNS) {
+            rejections.warn(RejectReason.INVALID_COLUMNS, INVALID_COLUMNS, lineNumber, EXPECTED_COLUMNS, columns);
+            return false;
+        }
+
+        return parseEmployeeWorkDuration(fields, lineNumber, dateParser, rejections, sink);
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (var i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int lineEnd(ByteBuffer buffer, int start, int limit) {
+        for (var i = start; i < limit; i++) {
+            var b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    static int nextLineStart(ByteBuffer buffer, int lineEnd, int limit) {
+        if (lineEnd >= limit) {
+            return limit;
+        }
+        if (buffer.get(lineEnd) == '\r' && lineEnd + 1 < limit && buffer.get(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    /**
+     * Position just after the last {@code '\n'} in the window, so a window never ends inside a line
+     * or between the two bytes of a {@code "\r\n"}.
+     */
+    static int lastLineBoundary(ByteBuffer buffer, int limit) {
+        for (var i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int start, int end) {
+        var bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.core;
+
+import static org.example.util.Constants.OVERLAP_ENGINE_PROPERTY;
+
+public enum OverlapEngine {
+    /**
+     * Compares every pair of employees on a project, interval by interval.
+     */
+    PAIRWISE,
+
+    /**
+     * Sweeps the project's merged intervals in start order and only pairs up employees that are active at the same time.
+     */
+    SWEEP_LINE,
+
+    /**
+     * Turns every employee's merged intervals into a bitset over the project's days and counts common days
+     * with popcount. Projects whose bitsets would exceed the memory cap use the sweep line instead.
+     */
+    BITSET,
+
+    /**
+     * Picks the bitsets or the sweep line for each project, whichever is estimated to be cheaper.
+     */
+    ADAPTIVE;
+
+    public static OverlapEngine fromSystemProperty() {
+        var value = System.getProperty(OVERLAP_ENGINE_PROPERTY);
+        return value == null ? SWEEP_LINE : valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * The engine that actually computes the project: never {@link #ADAPTIVE}.
+     */
+    OverlapEngine forProject(ProjectTimeline timeline) {
+        return switch (this) {
+            case PAIRWISE, SWEEP_LINE -> this;
+            case BITSET -> BitsetOverlapCalculator.fits(timeline) ? BITSET : SWEEP_LINE;
+            case ADAPTIVE -> BitsetOverlapCalculator.isCheaperThanSweep(timeline) ? BITSET : SWEEP_LINE;
+        };
+    }
+}
@@ -0,0 +1,475 @@
+package org.example.core;
+
+import org.example.model.CollaborationSink;
+import org.example.model.EmployeePair;
+import org.example.model.PairScore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Open-addressing map from (packed {@link EmployeePair} key, project id) to overlap days, with one slot per
+ * pair and project and no boxing. Used to aggregate overlaps on the hot path; it is only turned into
+ * {@code Map<EmployeePair, Map<Integer, Long>>} for the pairs that end up in the returned results.
+ * <p>
+ * The entries are spread over shards by pair, so all projects of a pair are in the same shard. A shard that
+ * fills up grows on its own, which keeps the old and new tables of a rehash small, and pairs are scored one
+ * shard at a time. {@link #add} is not thread-safe: every worker aggregates into a map of its own and hands
+ * it to {@link #merge}, which locks one shard at a time.
+ */
+public class PairProjectOverlapMap {
+    /**
+     * Heap bytes of one slot: the pair key, the project id and the days.
+     */
+    static final int SLOT_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+    static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY = -1L;
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long SHARD_MIX = 0xC2B2AE3D27D4EB4FL;
+
+    private final Shard[] shards;
+
+    @FunctionalInterface
+    public interface OverlapConsumer {
+        void accept(long pairKey, int projectId, long days);
+    }
+
+    public PairProjectOverlapMap() {
+        shards = new Shard[]{new Shard(DEFAULT_CAPACITY)};
+    }
+
+    /**
+     * A map with room for {@code expectedSize} entries before any shard has to grow.
+     */
+    public PairProjectOverlapMap(long expectedSize, int shardCount) {
+        var perShard = (expectedSize + shardCount - 1) / shardCount;
+        var capacity = (int) Math.min(Math.max((long) Math.ceil(perShard / LOAD_FACTOR) + 1, DEFAULT_CAPACITY),
+                MAX_CAPACITY);
+        shards = new Shard[shardCount];
+        for (var i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    /**
+     * Adds {@code overlap} days to the pair's total on the project.
+     */
+    public void add(long pairKey, int projectId, long overlap) {
+        shardOf(pairKey).add(pairKey, projectId, overlap);
+    }
+
+    /**
+     * Adds all entries of {@code other}. Safe to call from several threads at once; returns the number of
+     * entries that were not in this map yet.
+     */
+    public int merge(PairProjectOverlapMap other) {
+        var added = 0;
+        for (var source : other.shards) {
+            for (var slot = 0; slot < source.pairKeys.length; slot++) {
+                var pairKey = source.pairKeys[slot];
+                if (pairKey != EMPTY) {
+                    var shard = shardOf(pairKey);
+                    synchronized (shard) {
+                        if (shard.add(pairKey, source.projectIds[slot], source.days[slot])) {
+                            added++;
+                        }
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    public int size() {
+        var size = 0;
+        for (var shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    public void forEach(OverlapConsumer consumer) {
+        for (var shard : shards) {
+            shard.forEach(consumer);
+        }
+    }
+
+    /**
+     * One {@link PairScore} per pair, in no particular order.
+     */
+    public PairScore[] scorePairs() {
+        var scored = new PairScore[shards.length][];
+        if (shards.length == 1) {
+            scored[0] = shards[0].scorePairs();
+        } else {
+            IntStream.range(0, shards.length).parallel().forEach(s -> scored[s] = shards[s].scorePairs());
+        }
+
+        var count = 0;
+        for (var shardScores : scored) {
+            count += shardScores.length;
+        }
+        var scores = new PairScore[count];
+        var next = 0;
+        for (var shardScores : scored) {
+            System.arraycopy(shardScores, 0, scores, next, shardScores.length);
+            next += shardScores.length;
+        }
+        return scores;
+    }
+
+    /**
+     * The best {@code k} pairs in {@link PairScore#RANKING} order. Each shard keeps its best {@code k} in a heap
+     * of unboxed scores, so a {@link PairScore} is only created for those.
+     */
+    public PairScore[] rankPairs(int k) {
+        var ranked = new PairScore[shards.length][];
+        if (shards.length == 1) {
+            ranked[0] = shards[0].rankPairs(k);
+        } else {
+            IntStream.range(0, shards.length).parallel().forEach(s -> ranked[s] = shards[s].rankPairs(k));
+        }
+
+        var candidates = new ArrayList<PairScore>();
+        for (var shardRanked : ranked) {
+            candidates.addAll(Arrays.asList(shardRanked));
+        }
+        var scores = candidates.toArray(PairScore[]::new);
+        Arrays.parallelSort(scores, PairScore.RANKING);
+        return scores.length > k ? Arrays.copyOf(scores, k) : scores;
+    }
+
+    /**
+     * Per-project overlaps of the given pairs only, in the map shape the public API returns.
+     */
+    public Map<EmployeePair, Map<Integer, Long>> toCollaborationMap(PairScore[] selectedPairs) {
+        var index = new PairKeyIndex(selectedPairs.length);
+        var projectsByPair = new ArrayList<Map<Integer, Long>>(selectedPairs.length);
+        for (var score : selectedPairs) {
+            index.indexOf(EmployeePair.pack(score.emp1(), score.emp2()));
+            projectsByPair.add(new HashMap<>());
+        }
+
+        forEach((pairKey, projectId, overlap) -> {
+            var i = index.find(pairKey);
+            if (i >= 0) {
+                projectsByPair.get(i).put(projectId, overlap);
+            }
+        });
+
+        var collaborations = new HashMap<EmployeePair, Map<Integer, Long>>(selectedPairs.length * 2);
+        for (var i = 0; i < index.size(); i++) {
+            collaborations.put(EmployeePair.fromKey(index.keyAt(i)), projectsByPair.get(i));
+        }
+        return collaborations;
+    }
+
+    /**
+     * Hands each of the given pairs to {@code sink} in the given order, with its projects sorted by overlap.
+     * The projects are grouped into flat arrays first, so no per-pair maps are built.
+     */
+    public void forEachRanked(PairScore[] rankedPairs, CollaborationSink sink) {
+        var index = new PairKeyIndex(rankedPairs.length);
+        for (var score : rankedPairs) {
+            index.indexOf(EmployeePair.pack(score.emp1(), score.emp2()));
+        }
+
+        var offsets = new int[rankedPairs.length + 1];
+        forEach((pairKey, projectId, overlap) -> {
+            var i = index.find(pairKey);
+            if (i >= 0) {
+                offsets[i + 1]++;
+            }
+        });
+        for (var i = 0; i < rankedPairs.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        var next = Arrays.copyOf(offsets, rankedPairs.length);
+        var groupedProjects = new int[offsets[rankedPairs.length]];
+        var groupedDays = new long[offsets[rankedPairs.length]];
+        forEach((pairKey, projectId, overlap) -> {
+            var i = index.find(pairKey);
+            if (i >= 0) {
+                groupedProjects[next[i]] = projectId;
+                groupedDays[next[i]++] = overlap;
+            }
+        });
+
+        for (var i = 0; i < rankedPairs.length; i++) {
+            var projectIds = Arrays.copyOfRange(groupedProjects, offsets[i], offsets[i + 1]);
+            var projectDays = Arrays.copyOfRange(groupedDays, offsets[i], offsets[i + 1]);
+            sortProjectsByDays(projectIds, projectDays);
+            sink.accept(rankedPairs[i], projectIds, projectDays);
+        }
+    }
+
+    /**
+     * Insertion sort by days descending, then project id ascending; a pair shares only a handful of projects.
+     */
+    static void sortProjectsByDays(int[] projectIds, long[] projectDays) {
+        for (var i = 1; i < projectIds.length; i++) {
+            var projectId = projectIds[i];
+            var days = projectDays[i];
+            var j = i - 1;
+            while (j >= 0 && (projectDays[j] < days || (projectDays[j] == days && projectIds[j] > projectId))) {
+                projectIds[j + 1] = projectIds[j];
+                projectDays[j + 1] = projectDays[j];
+                j--;
+            }
+            projectIds[j + 1] = projectId;
+            projectDays[j + 1] = days;
+        }
+    }
+
+    private Shard shardOf(long pairKey) {
+        return shards.length == 1 ? shards[0] : shards[(int) (((pairKey * SHARD_MIX >>> 32) * shards.length) >>> 32)];
+    }
+
+    private static int mix(long pairKey, int projectId) {
+        var h = (pairKey ^ ((long) projectId << 16)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * One open-addressing table. Its capacity need not be a power of two: slots are picked by multiplying the
+     * hash with the capacity, so a presized table is not rounded up.
+     */
+    private static final class Shard {
+        private long[] pairKeys;
+        private int[] projectIds;
+        private long[] days;
+        private int size;
+        private int threshold;
+
+        private Shard(int capacity) {
+            allocate(capacity);
+        }
+
+        /**
+         * Returns whether the pair had no entry for the project yet.
+         */
+        private boolean add(long pairKey, int projectId, long overlap) {
+            var capacity = pairKeys.length;
+            var slot = slotOf(pairKey, projectId, capacity);
+            while (pairKeys[slot] != EMPTY) {
+                if (pairKeys[slot] == pairKey && projectIds[slot] == projectId) {
+                    days[slot] += overlap;
+                    return false;
+                }
+                if (++slot == capacity) {
+                    slot = 0;
+                }
+            }
+
+            pairKeys[slot] = pairKey;
+            projectIds[slot] = projectId;
+            days[slot] = overlap;
+            if (++size > threshold) {
+                rehash((int) Math.min((long) capacity << 1, MAX_CAPACITY));
+            }
+            return true;
+        }
+
+        private void forEach(OverlapConsumer consumer) {
+            for (var slot = 0; slot < pairKeys.length; slot++) {
+                if (pairKeys[slot] != EMPTY) {
+                    consumer.accept(pairKeys[slot], projectIds[slot], days[slot]);
+                }
+            }
+        }
+
+        private PairScore[] scorePairs() {
+            return scorePairs(new PairTotals(this));
+        }
+
+        private static PairScore[] scorePairs(PairTotals totals) {
+            var scores = new PairScore[totals.size()];
+            for (var i = 0; i < scores.length; i++) {
+                scores[i] = totals.scoreAt(i);
+            }
+            return scores;
+        }
+
+        private PairScore[] rankPairs(int k) {
+            var totals = new PairTotals(this);
+            if (k >= totals.size()) {
+                return scorePairs(totals);
+            }
+            var top = new TopPairs(k);
+            for (var i = 0; i < totals.size(); i++) {
+                top.offer(totals, i);
+            }
+            return top.toScores(totals);
+        }
+
+        private void allocate(int capacity) {
+            pairKeys = new long[capacity];
+            projectIds = new int[capacity];
+            days = new long[capacity];
+            threshold = capacity == MAX_CAPACITY ? Integer.MAX_VALUE : (int) (capacity * LOAD_FACTOR);
+            Arrays.fill(pairKeys, EMPTY);
+        }
+
+        private void rehash(int capacity) {
+            var oldPairKeys = pairKeys;
+            var oldProjectIds = projectIds;
+            var oldDays = days;
+            allocate(capacity);
+            size = 0;
+            for (var slot = 0; slot < oldPairKeys.length; slot++) {
+                if (oldPairKeys[slot] != EMPTY) {
+                    add(oldPairKeys[slot], oldProjectIds[slot], oldDays[slot]);
+                }
+            }
+        }
+
+        private static int slotOf(long pairKey, int projectId, int capacity) {
+            return (int) (((mix(pairKey, projectId) & 0xFFFFFFFFL) * capacity) >>> 32);
+        }
+    }
+
+    /**
+     * Total and longest overlap of every pair in a shard, by dense pair index.
+     */
+    private static final class PairTotals {
+        private final PairKeyIndex index;
+        private final long[] totals;
+        private final long[] maxOverlaps;
+
+        private PairTotals(Shard shard) {
+            index = new PairKeyIndex(shard.size);
+            totals = new long[shard.size];
+            maxOverlaps = new long[shard.size];
+            shard.forEach((pairKey, projectId, overlap) -> {
+                var i = index.indexOf(pairKey);
+                totals[i] += overlap;
+                maxOverlaps[i] = Math.max(maxOverlaps[i], overlap);
+            });
+        }
+
+        private int size() {
+            return index.size();
+        }
+
+        private int compare(int pair1, int pair2) {
+            return PairScore.compareRanking(totals[pair1], maxOverlaps[pair1], index.keyAt(pair1),
+                    totals[pair2], maxOverlaps[pair2], index.keyAt(pair2));
+        }
+
+        private PairScore scoreAt(int pair) {
+            var pairKey = index.keyAt(pair);
+            return new PairScore((int) (pairKey >>> 32), (int) pairKey, totals[pair], maxOverlaps[pair]);
+        }
+    }
+
+    /**
+     * Binary heap of the best pair indices offered so far, with the worst of them at the root.
+     */
+    private static final class TopPairs {
+        private final int[] heap;
+        private int size;
+
+        private TopPairs(int k) {
+            heap = new int[k];
+        }
+
+        private void offer(PairTotals totals, int pair) {
+            if (size < heap.length) {
+                var child = size++;
+                while (child > 0) {
+                    var parent = (child - 1) >>> 1;
+                    if (totals.compare(heap[parent], pair) >= 0) {
+                        break;
+                    }
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = pair;
+            } else if (totals.compare(pair, heap[0]) < 0) {
+                var parent = 0;
+                while (true) {
+                    var child = 2 * parent + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && totals.compare(heap[child + 1], heap[child]) > 0) {
+                        child++;
+                    }
+                    if (totals.compare(heap[child], pair) <= 0) {
+                        break;
+                    }
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = pair;
+            }
+        }
+
+        private PairScore[] toScores(PairTotals totals) {
+            var scores = new PairScore[size];
+            for (var i = 0; i < size; i++) {
+                scores[i] = totals.scoreAt(heap[i]);
+            }
+            return scores;
+        }
+    }
+
+    /**
+     * Assigns dense indices to pair keys, in insertion order.
+     */
+    private static final class PairKeyIndex {
+        private final long[] table;
+        private final int[] indices;
+        private long[] keys;
+        private int size;
+
+        private PairKeyIndex(int expectedKeys) {
+            var capacity = Integer.highestOneBit(Math.max(expectedKeys, 1) * 2) << 1;
+            table = new long[capacity];
+            indices = new int[capacity];
+            keys = new long[Math.max(expectedKeys, 1)];
+            Arrays.fill(table, EMPTY);
+        }
+
+        private int indexOf(long key) {
+            var slot = slotOf(key);
+            if (table[slot] == EMPTY) {
+                table[slot] = key;
+                indices[slot] = size;
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size << 1);
+                }
+                keys[size] = key;
+                return size++;
+            }
+            return indices[slot];
+        }
+
+        private int find(long key) {
+            var slot = slotOf(key);
+            return table[slot] == EMPTY ? -1 : indices[slot];
+        }
+
+        private int slotOf(long key) {
+            var mask = table.length - 1;
+            var slot = mix(key, 0) & mask;
+            while (table[slot] != EMPTY && table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private long keyAt(int index) {
+            return keys[index];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
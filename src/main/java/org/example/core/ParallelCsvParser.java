@@ -0,0 +1,178 @@
+package org.example.core;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.exception.CsvValidationException;
+import org.example.model.WorkDurationStore;
+import org.example.util.DateParser;
+import org.example.util.RejectedRowLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.example.util.Constants.*;
+import static org.example.util.ErrorConstants.LINE_TOO_LONG;
+import static org.example.util.ErrorConstants.INVALID_PARALLELISM;
+import static org.example.util.LoggingConstants.PARALLEL_PARSE_CHUNKS;
+import static org.example.util.ValidationUtil.validateHeader;
+
+/**
+ * Parses a CSV file on a fork-join pool. The file is split into byte ranges that end right after a
+ * {@code '\n'}, lines are counted per range to work out where each range's line numbering starts, and each
+ * range is then parsed into its own {@link WorkDurationStore}. The stores are concatenated in file order.
+ * <p>
+ * The first range is kept small and parsed first on the calling thread, so the date formats are detected
+ * before the other ranges start sharing the {@link DateParser}.
+ */
+@Log4j2
+public class ParallelCsvParser {
+    private final int parallelism;
+
+    public ParallelCsvParser(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_PARALLELISM, parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    public static int defaultParallelism() {
+        return Integer.getInteger(PARSER_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Parses the file into the store and returns the number of accepted rows.
+     */
+    public int parse(Path path, DateParser dateParser, WorkDurationStore store) throws IOException {
+        return parse(path, dateParser, new RejectedRowLog(), store, AnalysisProgress.NONE);
+    }
+
+    public int parse(Path path, DateParser dateParser, RejectedRowLog rejections, WorkDurationStore store,
+                     AnalysisProgress progress) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size == 0) {
+                validateHeader(null);
+            }
+
+            var boundaries = splitIntoChunks(channel, size);
+            var chunkCount = boundaries.size() - 1;
+            var chunks = new MappedByteBuffer[chunkCount];
+            for (var i = 0; i < chunkCount; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, boundaries.get(i),
+                        boundaries.get(i + 1) - boundaries.get(i));
+            }
+            log.debug(PARALLEL_PARSE_CHUNKS, chunkCount, parallelism);
+
+            var pool = new ForkJoinPool(parallelism);
+            try {
+                return parseChunks(pool, chunks, dateParser, rejections, store,
+                        new ParseProgressTracker(progress, size));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private int parseChunks(ForkJoinPool pool, MappedByteBuffer[] chunks, DateParser dateParser,
+                            RejectedRowLog rejections, WorkDurationStore store,
+                            ParseProgressTracker progress) throws IOException {
+        var lineCounts = new ArrayList<Future<Integer>>();
+        for (var i = 1; i < chunks.length; i++) {
+            var chunk = chunks[i];
+            lineCounts.add(pool.submit(() -> MappedCsvParser.countLines(chunk, 0, chunk.limit())));
+        }
+
+        var first = chunks[0];
+        var firstParser = new MappedCsvParser(dateParser, rejections, store, progress);
+        var lineNumber = firstParser.parseLines(first, MappedCsvParser.readHeader(first, first.limit()), first.limit(), 1);
+        dateParser.finishDetection();
+
+        var stores = new WorkDurationStore[chunks.length];
+        var tasks = new ArrayList<Callable<Integer>>();
+        for (var i = 1; i < chunks.length; i++) {
+            var chunk = chunks[i];
+            var chunkStore = new WorkDurationStore();
+            var linesBefore = lineNumber;
+            stores[i] = chunkStore;
+            tasks.add(() -> {
+                var parser = new MappedCsvParser(dateParser, rejections, chunkStore, progress);
+                parser.parseLines(chunk, 0, chunk.limit(), linesBefore);
+                return parser.getAcceptedRecords();
+            });
+            lineNumber += join(lineCounts.get(i - 1));
+        }
+
+        var acceptedRecords = firstParser.getAcceptedRecords();
+        for (var result : pool.invokeAll(tasks)) {
+            acceptedRecords += join(result);
+        }
+        for (var i = 1; i < stores.length; i++) {
+            store.addAll(stores[i]);
+        }
+        return acceptedRecords;
+    }
+
+    /**
+     * Chunk boundaries, starting at 0 and ending at {@code size}. Every inner boundary is just past a
+     * {@code '\n'}, so no line or {@code "\r\n"} is split between two chunks.
+     */
+    private List<Long> splitIntoChunks(FileChannel channel, long size) throws IOException {
+        var chunkSize = Math.max(MIN_PARSE_CHUNK_SIZE, size / ((long) parallelism * PARSE_CHUNKS_PER_THREAD));
+        var boundaries = new ArrayList<Long>();
+        boundaries.add(0L);
+
+        var start = 0L;
+        var target = Math.min(chunkSize, DETECTION_CHUNK_SIZE);
+        while (start < size) {
+            var end = start + target >= size ? size : nextLineBoundary(channel, start + target, size);
+            if (end - start > MAPPED_WINDOW_SIZE) {
+                throw new CsvValidationException(String.format(LINE_TOO_LONG, boundaries.size(), MAPPED_WINDOW_SIZE));
+            }
+            boundaries.add(end);
+            start = end;
+            target = Math.min(chunkSize, MAPPED_WINDOW_SIZE - MIN_PARSE_CHUNK_SIZE);
+        }
+        return boundaries;
+    }
+
+    private static long nextLineBoundary(FileChannel channel, long position, long size) throws IOException {
+        var buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            var read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (var i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static int join(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running byte and line totals of one file, shared by the parsers of all its chunks.
+ */
+final class ParseProgressTracker {
+    private final AnalysisProgress progress;
+    private final long totalBytes;
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsParsed = new AtomicLong();
+
+    ParseProgressTracker(AnalysisProgress progress, long totalBytes) {
+        this.progress = progress;
+        this.totalBytes = totalBytes;
+    }
+
+    void advance(long bytes, long rows) {
+        progress.parseProgress(bytesRead.addAndGet(bytes), totalBytes, rowsParsed.addAndGet(rows));
+        progress.checkCancelled();
+    }
+}
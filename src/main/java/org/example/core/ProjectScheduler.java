@@ -0,0 +1,252 @@
+package org.example.core;
+
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.Stage;
+import org.example.model.WorkDurationStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.example.util.Constants.MIN_OVERLAP_TASK_COST;
+import static org.example.util.Constants.OVERLAP_MAP_HEAP_SHARE;
+import static org.example.util.Constants.OVERLAP_MAP_SHARDS;
+import static org.example.util.Constants.OVERLAP_TASKS_PER_THREAD;
+import static org.example.util.ErrorConstants.UNRESOLVED_ENGINE;
+
+/**
+ * Spreads the overlap stage over the fork-join pool by estimated cost instead of one task per project.
+ * A project with n rows costs up to n²/2 comparisons, so on skewed inputs one project can outweigh all the
+ * others together. The work is cut into about {@value org.example.util.Constants#OVERLAP_TASKS_PER_THREAD}
+ * tasks per worker of similar cost: runs of small projects are batched into one task, and a project above the
+ * target cost is split into slices that run in parallel. The pairwise and bitset engines are split into
+ * blocks of employees, each compared with all employees after it. The sweep line is split into ranges of its
+ * start-ordered intervals, balanced by the number of active intervals each one is compared with.
+ * <p>
+ * Runs on the pool of the calling thread, or on the common pool, like a parallel stream.
+ */
+final class ProjectScheduler {
+    private final WorkDurationStore workDurations;
+    private final OverlapEngine engine;
+    private final AnalysisProgress progress;
+    private final int parallelism;
+    private final AtomicInteger projectsDone = new AtomicInteger();
+    private int projectCount;
+
+    ProjectScheduler(WorkDurationStore workDurations, OverlapEngine engine, AnalysisProgress progress) {
+        this.workDurations = workDurations;
+        this.engine = engine;
+        this.progress = progress;
+        this.parallelism = ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    PairProjectOverlapMap calculateOverlaps(List<int[]> rowsByProject) {
+        var overlaps = newOverlapMap(rowsByProject, Long.MAX_VALUE);
+        calculateOverlaps(rowsByProject, overlaps);
+        return overlaps;
+    }
+
+    /**
+     * Adds the overlaps of the projects to {@code overlaps}. Every task aggregates a project, or a slice of one,
+     * into a small map of its own and merges it into {@code overlaps} when done.
+     */
+    void calculateOverlaps(List<int[]> rowsByProject, PairProjectOverlapMap overlaps) {
+        projectCount = rowsByProject.size();
+        var maxTasks = (long) parallelism * OVERLAP_TASKS_PER_THREAD;
+        var totalCost = 0L;
+        for (var rows : rowsByProject) {
+            totalCost += estimateCost(rows.length);
+        }
+        var targetCost = Math.max(totalCost / maxTasks, MIN_OVERLAP_TASK_COST);
+
+        var tasks = new ArrayList<ForkJoinTask<?>>();
+        var batch = new ArrayList<int[]>();
+        var batchCost = 0L;
+        for (var rows : rowsByProject) {
+            var cost = estimateCost(rows.length);
+            if (cost > targetCost) {
+                var slices = (int) Math.min(cost / targetCost + 1, maxTasks);
+                tasks.add(ForkJoinTask.adapt(() -> splitProject(rows, slices, overlaps)));
+                continue;
+            }
+            batch.add(rows);
+            batchCost += cost;
+            if (batchCost >= targetCost) {
+                tasks.add(batchTask(batch, overlaps));
+                batch = new ArrayList<>();
+                batchCost = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            tasks.add(batchTask(batch, overlaps));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * A sharded map presized for the pairs the employees of each project can form, but taking no more than
+     * 1/{@value org.example.util.Constants#OVERLAP_MAP_HEAP_SHARE} of the heap or {@code maxSize} entries up
+     * front. A shard that fills up grows on its own.
+     */
+    PairProjectOverlapMap newOverlapMap(List<int[]> rowsByProject, long maxSize) {
+        var expectedSize = 0L;
+        for (var rows : rowsByProject) {
+            expectedSize += employeePairs(rows);
+        }
+        var heapSize = (long) (Runtime.getRuntime().maxMemory() / OVERLAP_MAP_HEAP_SHARE
+                * PairProjectOverlapMap.LOAD_FACTOR / PairProjectOverlapMap.SLOT_BYTES);
+        return new PairProjectOverlapMap(Math.min(expectedSize, Math.min(heapSize, maxSize)), OVERLAP_MAP_SHARDS);
+    }
+
+    /**
+     * Comparisons needed for a project with {@code rows} rows when every pair overlaps, plus one per row.
+     */
+    static long estimateCost(int rows) {
+        return (long) rows * (rows - 1) / 2 + rows;
+    }
+
+    /**
+     * Pairs of distinct employees on the project, the most entries it can add to the overlap map.
+     */
+    private long employeePairs(int[] rows) {
+        var employees = new int[rows.length];
+        for (var i = 0; i < rows.length; i++) {
+            employees[i] = workDurations.getEmpId(rows[i]);
+        }
+        Arrays.sort(employees);
+        var distinct = rows.length == 0 ? 0L : 1L;
+        for (var i = 1; i < employees.length; i++) {
+            if (employees[i] != employees[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct * (distinct - 1) / 2;
+    }
+
+    /**
+     * Cuts {@code [0, costs.length)} into at most {@code slices} non-empty ranges of about equal total cost
+     * and returns their boundaries.
+     */
+    static int[] balance(long[] costs, int slices) {
+        var total = 0L;
+        for (var cost : costs) {
+            total += cost;
+        }
+
+        var boundaries = new int[slices + 1];
+        var count = 1;
+        var accumulated = 0L;
+        for (var i = 0; i < costs.length - 1 && count < slices; i++) {
+            accumulated += costs[i];
+            if (accumulated >= (double) total * count / slices) {
+                boundaries[count++] = i + 1;
+            }
+        }
+        boundaries[count++] = costs.length;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    private ForkJoinTask<?> batchTask(List<int[]> projects, PairProjectOverlapMap overlaps) {
+        return ForkJoinTask.adapt(() -> {
+            for (var rows : projects) {
+                progress.checkCancelled();
+                var projectOverlaps = new PairProjectOverlapMap();
+                Main.processOneProject(workDurations, rows, projectOverlaps, engine);
+                overlaps.merge(projectOverlaps);
+                progress.projectsDone(projectsDone.incrementAndGet(), projectCount);
+            }
+        });
+    }
+
+    /**
+     * Builds the project's timeline once and runs its slices in parallel; the metrics match those of
+     * {@link Main#processOneProject}.
+     */
+    private void splitProject(int[] rows, int slices, PairProjectOverlapMap overlaps) {
+        progress.checkCancelled();
+        var metrics = PipelineMetrics.get();
+        var mergeStart = System.nanoTime();
+        var timeline = Main.buildProjectTimeline(workDurations, rows);
+        metrics.stop(Stage.MERGE, mergeStart);
+
+        var added = 0L;
+        for (var slice : ForkJoinTask.invokeAll(switch (engine.forProject(timeline)) {
+            case PAIRWISE -> employeeSlices(timeline, slices, overlaps, (from, to, map) ->
+                    Main.accumulatePairwiseOverlaps(timeline, from, to, map));
+            case SWEEP_LINE -> sweepSlices(timeline, slices, overlaps);
+            case BITSET -> employeeSlices(timeline, slices, overlaps,
+                    BitsetOverlapCalculator.of(timeline)::accumulateOverlaps);
+            case ADAPTIVE -> throw new IllegalStateException(String.format(UNRESOLVED_ENGINE, engine));
+        })) {
+            added += slice.join();
+        }
+
+        metrics.add(Counter.PROJECTS, 1);
+        metrics.add(Counter.PAIRS_WITH_OVERLAP, added);
+        metrics.projectSize(rows.length);
+        progress.projectsDone(projectsDone.incrementAndGet(), projectCount);
+    }
+
+    /**
+     * Overlaps of the employees in {@code [fromEmployee, toEmployee)} with all employees after them.
+     */
+    @FunctionalInterface
+    private interface EmployeeBlock {
+        void accumulate(int fromEmployee, int toEmployee, PairProjectOverlapMap overlaps);
+    }
+
+    private List<ForkJoinTask<Integer>> employeeSlices(ProjectTimeline timeline, int slices,
+                                                       PairProjectOverlapMap overlaps, EmployeeBlock block) {
+        var employees = timeline.employeeCount();
+        var costs = new long[employees];
+        for (var i = 0; i < employees; i++) {
+            costs[i] = employees - i;
+        }
+
+        var boundaries = balance(costs, slices);
+        var tasks = new ArrayList<ForkJoinTask<Integer>>();
+        for (var s = 0; s + 1 < boundaries.length; s++) {
+            var from = boundaries[s];
+            var to = boundaries[s + 1];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                progress.checkCancelled();
+                var start = System.nanoTime();
+                var sliceOverlaps = new PairProjectOverlapMap();
+                block.accumulate(from, to, sliceOverlaps);
+                PipelineMetrics.get().stop(Stage.OVERLAP, start);
+                return overlaps.merge(sliceOverlaps);
+            }));
+        }
+        return tasks;
+    }
+
+    private List<ForkJoinTask<Integer>> sweepSlices(ProjectTimeline timeline, int slices,
+                                                    PairProjectOverlapMap overlaps) {
+        var owner = SweepLineOverlapCalculator.owners(timeline);
+        var order = SweepLineOverlapCalculator.startOrder(timeline);
+
+        var boundaries = balance(SweepLineOverlapCalculator.positionCosts(timeline, order), slices);
+        var tasks = new ArrayList<ForkJoinTask<Integer>>();
+        for (var s = 0; s + 1 < boundaries.length; s++) {
+            var from = boundaries[s];
+            var to = boundaries[s + 1];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                progress.checkCancelled();
+                var start = System.nanoTime();
+                var sliceOverlaps = new PairProjectOverlapMap();
+                SweepLineOverlapCalculator.calculateOverlaps(timeline, owner, order, from, to)
+                        .forEach((pairKey, projectId, overlap) ->
+                                Main.recordOverlap(projectId, pairKey, overlap, sliceOverlaps));
+                PipelineMetrics.get().stop(Stage.OVERLAP, start);
+                return overlaps.merge(sliceOverlaps);
+            }));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.core;
+
+/**
+ * Merged work intervals of every employee on one project, stored as epoch days.
+ * Employees are sorted by id and the intervals of employee {@code i} occupy
+ * {@code [intervalStart(i), intervalEnd(i))}, sorted by start day and never overlapping each other.
+ */
+public class ProjectTimeline {
+    private final int projectId;
+    private final int[] employeeIds;
+    private final int[] offsets;
+    private final int[] fromEpochDay;
+    private final int[] toEpochDay;
+
+    ProjectTimeline(int projectId, int[] employeeIds, int[] offsets, int[] fromEpochDay, int[] toEpochDay) {
+        this.projectId = projectId;
+        this.employeeIds = employeeIds;
+        this.offsets = offsets;
+        this.fromEpochDay = fromEpochDay;
+        this.toEpochDay = toEpochDay;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public int employeeCount() {
+        return employeeIds.length;
+    }
+
+    public int intervalCount() {
+        return offsets[employeeIds.length];
+    }
+
+    public int employeeId(int employeeIndex) {
+        return employeeIds[employeeIndex];
+    }
+
+    public int intervalStart(int employeeIndex) {
+        return offsets[employeeIndex];
+    }
+
+    public int intervalEnd(int employeeIndex) {
+        return offsets[employeeIndex + 1];
+    }
+
+    public int fromEpochDay(int intervalIndex) {
+        return fromEpochDay[intervalIndex];
+    }
+
+    public int toEpochDay(int intervalIndex) {
+        return toEpochDay[intervalIndex];
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+
+/**
+ * Order-independent 64-bit hashes of work duration rows. Results never depend on row order, so neither do
+ * the hashes; duplicated rows still change the hash.
+ */
+final class RowHasher {
+
+    private RowHasher() {
+    }
+
+    static long hash(WorkDurationStore workDurations) {
+        var sum = 0L;
+        var xor = 0L;
+        for (var i = 0; i < workDurations.size(); i++) {
+            var row = hashRow(workDurations, i);
+            sum += row;
+            xor ^= row;
+        }
+        return finish(sum, xor, workDurations.size());
+    }
+
+    static long hash(WorkDurationStore workDurations, int[] rows) {
+        var sum = 0L;
+        var xor = 0L;
+        for (var row : rows) {
+            var rowHash = hashRow(workDurations, row);
+            sum += rowHash;
+            xor ^= rowHash;
+        }
+        return finish(sum, xor, rows.length);
+    }
+
+    static long hashRow(WorkDurationStore workDurations, int row) {
+        return mix(((long) workDurations.getEmpId(row) << 32 | workDurations.getProjectId(row) & 0xFFFFFFFFL)
+                * 0x9E3779B97F4A7C15L
+                ^ ((long) workDurations.getFromEpochDay(row) << 32 | workDurations.getToEpochDay(row) & 0xFFFFFFFFL));
+    }
+
+    private static long finish(long sum, long xor, int count) {
+        return mix(sum ^ Long.rotateLeft(xor, 32) ^ count);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
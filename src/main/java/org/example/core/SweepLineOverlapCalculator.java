@@ -0,0 +1,132 @@
+package org.example.core;
+
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.model.EmployeePair;
+
+import java.util.Arrays;
+
+import static org.example.core.Main.getOverlapInDays;
+
+public class SweepLineOverlapCalculator {
+
+    private SweepLineOverlapCalculator() {
+    }
+
+    /**
+     * Calculates the overlap in days for every pair of employees that were active on the project at the same time.
+     * Intervals are visited once in start order; an interval only pairs up with the intervals that are still active
+     * when it starts, so the work is proportional to the number of actually overlapping intervals.
+     */
+    public static PairProjectOverlapMap calculateOverlaps(ProjectTimeline timeline) {
+        return calculateOverlaps(timeline, owners(timeline), startOrder(timeline), 0, timeline.intervalCount());
+    }
+
+    /**
+     * The part of the sweep that visits positions {@code [from, to)} of {@code order}: pairs every interval
+     * starting there with the intervals still active when it starts. The slices of a partition of the positions
+     * emit every overlapping interval pair exactly once, so they can run in parallel and be added up.
+     *
+     * @param owner employee index of every interval, see {@link #owners}
+     * @param order interval indices in start order, see {@link #startOrder}
+     */
+    static PairProjectOverlapMap calculateOverlaps(ProjectTimeline timeline, int[] owner, int[] order, int from, int to) {
+        var overlaps = new PairProjectOverlapMap();
+        if (from >= to) {
+            return overlaps;
+        }
+
+        // The intervals the full sweep would still hold when it reaches position from
+        var active = new int[order.length];
+        var activeCount = 0;
+        var firstStart = timeline.fromEpochDay(order[from]);
+        for (var position = 0; position < from; position++) {
+            if (timeline.toEpochDay(order[position]) >= firstStart) {
+                active[activeCount++] = order[position];
+            }
+        }
+        var comparisons = 0L;
+
+        for (var position = from; position < to; position++) {
+            var current = order[position];
+            var start = timeline.fromEpochDay(current);
+            var end = timeline.toEpochDay(current);
+
+            var kept = 0;
+            comparisons += activeCount;
+            for (var a = 0; a < activeCount; a++) {
+                var other = active[a];
+                if (timeline.toEpochDay(other) < start) {
+                    continue;
+                }
+                active[kept++] = other;
+                if (owner[other] != owner[current]) {
+                    var pairKey = EmployeePair.pack(timeline.employeeId(owner[other]), timeline.employeeId(owner[current]));
+                    overlaps.add(pairKey, timeline.getProjectId(), getOverlapInDays(start, end, start, timeline.toEpochDay(other)));
+                }
+            }
+            active[kept++] = current;
+            activeCount = kept;
+        }
+        PipelineMetrics.get().add(Counter.PAIRS_EVALUATED, comparisons);
+        return overlaps;
+    }
+
+    static int[] owners(ProjectTimeline timeline) {
+        var owner = new int[timeline.intervalCount()];
+        for (var employee = 0; employee < timeline.employeeCount(); employee++) {
+            Arrays.fill(owner, timeline.intervalStart(employee), timeline.intervalEnd(employee), employee);
+        }
+        return owner;
+    }
+
+    static int[] startOrder(ProjectTimeline timeline) {
+        var byStart = new long[timeline.intervalCount()];
+        for (var i = 0; i < byStart.length; i++) {
+            byStart[i] = ((long) timeline.fromEpochDay(i) << 32) | i;
+        }
+        Arrays.sort(byStart);
+
+        var order = new int[byStart.length];
+        for (var i = 0; i < order.length; i++) {
+            order[i] = (int) byStart[i];
+        }
+        return order;
+    }
+
+    /**
+     * The number of intervals the sweep compares at each position of {@code order}, plus one: the intervals
+     * started before it that end on or after its start day. These are exactly the intervals that end on or
+     * after that day, minus those starting later, so one binary search over the sorted end days finds them.
+     */
+    static long[] positionCosts(ProjectTimeline timeline, int[] order) {
+        var ends = new int[order.length];
+        for (var i = 0; i < ends.length; i++) {
+            ends[i] = timeline.toEpochDay(i);
+        }
+        Arrays.sort(ends);
+
+        var costs = new long[order.length];
+        for (var position = 0; position < order.length; position++) {
+            costs[position] = position - endedBefore(ends, timeline.fromEpochDay(order[position])) + 1;
+        }
+        return costs;
+    }
+
+    /**
+     * The number of values in sorted {@code ends} below {@code day}.
+     */
+    private static int endedBefore(int[] ends, int day) {
+        var low = 0;
+        var high = ends.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (ends[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.example.util.Constants.DEDUPLICATION_SHARDS;
+
+/**
+ * Concatenates the stores of several files without duplicated rows, keeping the first occurrence of every
+ * row in file order, the way adding them all to one {@code Set} would.
+ * <p>
+ * Rows are hashed once, in parallel per file, and the high bits of the hash assign each row to one of
+ * {@value org.example.util.Constants#DEDUPLICATION_SHARDS} shards. Every shard is an open-addressing table
+ * filled by the one task that owns it, so shards run in parallel without locks. Each task marks the rows it
+ * keeps and the marked rows are copied out in file order, so the result does not depend on scheduling.
+ * Runs on the pool of the calling thread, or on the common pool, like a parallel stream.
+ */
+final class WorkDurationDeduplicator {
+    private static final int SHARD_BITS = Integer.numberOfTrailingZeros(DEDUPLICATION_SHARDS);
+    private static final int EMPTY = -1;
+
+    private final List<WorkDurationStore> stores;
+    private final long[][] hashes;
+    private final boolean[][] kept;
+
+    private WorkDurationDeduplicator(List<WorkDurationStore> stores) {
+        this.stores = stores;
+        this.hashes = new long[stores.size()][];
+        this.kept = new boolean[stores.size()][];
+    }
+
+    static WorkDurationStore merge(List<WorkDurationStore> stores) {
+        return new WorkDurationDeduplicator(stores).merge();
+    }
+
+    private WorkDurationStore merge() {
+        var counts = new int[stores.size()][];
+        IntStream.range(0, stores.size()).parallel().forEach(file -> {
+            var store = stores.get(file);
+            var fileHashes = new long[store.size()];
+            var fileCounts = new int[DEDUPLICATION_SHARDS];
+            for (var row = 0; row < fileHashes.length; row++) {
+                fileHashes[row] = RowHasher.hashRow(store, row);
+                fileCounts[shardOf(fileHashes[row])]++;
+            }
+            hashes[file] = fileHashes;
+            kept[file] = new boolean[fileHashes.length];
+            counts[file] = fileCounts;
+        });
+
+        // Every shard lists its rows as file << 32 | row, in file order; each file fills its own ranges
+        var shardRows = new long[DEDUPLICATION_SHARDS][];
+        var offsets = new int[stores.size()][DEDUPLICATION_SHARDS];
+        for (var shard = 0; shard < DEDUPLICATION_SHARDS; shard++) {
+            var total = 0;
+            for (var file = 0; file < stores.size(); file++) {
+                offsets[file][shard] = total;
+                total += counts[file][shard];
+            }
+            shardRows[shard] = new long[total];
+        }
+        IntStream.range(0, stores.size()).parallel().forEach(file -> {
+            var next = offsets[file];
+            var fileHashes = hashes[file];
+            for (var row = 0; row < fileHashes.length; row++) {
+                var shard = shardOf(fileHashes[row]);
+                shardRows[shard][next[shard]++] = (long) file << 32 | row;
+            }
+        });
+
+        var distinct = IntStream.range(0, DEDUPLICATION_SHARDS).parallel()
+                .map(shard -> fillShard(shardRows[shard]))
+                .sum();
+
+        var merged = new WorkDurationStore(distinct);
+        for (var file = 0; file < stores.size(); file++) {
+            var store = stores.get(file);
+            for (var row = 0; row < kept[file].length; row++) {
+                if (kept[file][row]) {
+                    merged.add(store.getEmpId(row), store.getProjectId(row),
+                            store.getFromEpochDay(row), store.getToEpochDay(row));
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static int shardOf(long hash) {
+        return (int) (hash >>> (Long.SIZE - SHARD_BITS));
+    }
+
+    /**
+     * Marks the first occurrence of every distinct row of the shard and returns how many there are.
+     */
+    private int fillShard(long[] rows) {
+        var table = new Table(rows.length);
+        for (var entry : rows) {
+            var file = (int) (entry >>> 32);
+            var row = (int) entry;
+            if (table.add(file, row)) {
+                kept[file][row] = true;
+            }
+        }
+        return table.size;
+    }
+
+    /**
+     * Linear-probing set of rows, stored as their file and row index.
+     */
+    private final class Table {
+        private final int[] files;
+        private final int[] rows;
+        private int size;
+
+        /**
+         * At most half full with {@code capacity} rows, so it never needs to grow.
+         */
+        Table(int capacity) {
+            var slots = Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2;
+            files = new int[slots];
+            rows = new int[slots];
+            Arrays.fill(files, EMPTY);
+        }
+
+        boolean add(int file, int row) {
+            var hash = hashes[file][row];
+            var mask = files.length - 1;
+            for (var slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (files[slot] == EMPTY) {
+                    files[slot] = file;
+                    rows[slot] = row;
+                    size++;
+                    return true;
+                }
+                if (hashes[files[slot]][rows[slot]] == hash && sameRow(files[slot], rows[slot], file, row)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean sameRow(int file1, int row1, int file2, int row2) {
+        var store1 = stores.get(file1);
+        var store2 = stores.get(file2);
+        return store1.getEmpId(row1) == store2.getEmpId(row2)
+                && store1.getProjectId(row1) == store2.getProjectId(row2)
+                && store1.getFromEpochDay(row1) == store2.getFromEpochDay(row2)
+                && store1.getToEpochDay(row1) == store2.getToEpochDay(row2);
+    }
+}
@@ -0,0 +1,309 @@
+package org.example.core;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.example.model.CollaborationResults;
+import org.example.model.WorkDurationStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.CRC32C;
+
+import static org.example.util.Constants.*;
+import static org.example.util.LoggingConstants.*;
+
+/**
+ * Binary copy of a parsed CSV file, stored next to it as {@code <file>.snapshot}, so reopening the file skips
+ * parsing and validation. Holds the columns of the {@link WorkDurationStore} and, optionally, the results of
+ * the last analysis together with the top-K they were computed for. Snapshots are only read and written when
+ * the {@value org.example.util.Constants#SNAPSHOT_PROPERTY} system property is {@code true}, as they add a
+ * file beside every input.
+ * <p>
+ * Layout, little-endian: a header of magic, version, source size, source modification time, CRC32C of the
+ * source, the epoch day NULL dates were resolved to ({@link Long#MIN_VALUE} if the source has none), row
+ * count, results top-K ({@code 0} without results), result row count and result pair count; then the result
+ * days as longs, followed by the int columns of the rows and of the results.
+ * <p>
+ * A snapshot is used only if the source has the recorded size and either the recorded modification time or,
+ * after a copy or touch, the recorded checksum, so an unchanged file loads without being read. NULL dates are
+ * stored resolved, so a snapshot of a source that has them is only used on the day it was written.
+ */
+@Log4j2
+public class WorkDurationSnapshot {
+    private static final int HEADER_SIZE = 56;
+    private static final long NO_NULL_DATES = Long.MIN_VALUE;
+
+    private final Path source;
+    private final long sourceSize;
+    private final long sourceLastModified;
+    private final long sourceChecksum;
+    private final long nullDateDay;
+    @Getter
+    private final WorkDurationStore workDurations;
+    private final CollaborationResults results;
+    private final int resultsTopK;
+
+    private WorkDurationSnapshot(Path source, long sourceSize, long sourceLastModified, long sourceChecksum,
+                                 long nullDateDay, WorkDurationStore workDurations, CollaborationResults results,
+                                 int resultsTopK) {
+        this.source = source;
+        this.sourceSize = sourceSize;
+        this.sourceLastModified = sourceLastModified;
+        this.sourceChecksum = sourceChecksum;
+        this.nullDateDay = nullDateDay;
+        this.workDurations = workDurations;
+        this.results = results;
+        this.resultsTopK = resultsTopK;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(SNAPSHOT_PROPERTY);
+    }
+
+    public static Path snapshotPathFor(Path source) {
+        return source.resolveSibling(source.getFileName() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * A snapshot of the source's current content, without results. Reads the whole source once to checksum it.
+     *
+     * @param nullDate the day the source's NULL dates were resolved to, {@code null} if it has none
+     */
+    public static WorkDurationSnapshot of(Path source, WorkDurationStore workDurations, LocalDate nullDate)
+            throws IOException {
+        var size = Files.size(source);
+        var lastModified = Files.getLastModifiedTime(source).toMillis();
+        return new WorkDurationSnapshot(source, size, lastModified, checksum(source),
+                nullDate == null ? NO_NULL_DATES : nullDate.toEpochDay(), workDurations, null, NO_SNAPSHOT_RESULTS);
+    }
+
+    /**
+     * The same rows with the given results; the source is not read again.
+     */
+    public WorkDurationSnapshot withResults(CollaborationResults results, int topK) {
+        return new WorkDurationSnapshot(source, sourceSize, sourceLastModified, sourceChecksum, nullDateDay,
+                workDurations, results, topK);
+    }
+
+    /**
+     * The day the source's NULL dates were resolved to, {@code null} if it has none.
+     */
+    public LocalDate getNullDate() {
+        return nullDateDay == NO_NULL_DATES ? null : LocalDate.ofEpochDay(nullDateDay);
+    }
+
+    /**
+     * Results for {@code topK} pairs, if the snapshot holds results for at least that many.
+     */
+    public Optional<CollaborationResults> getResults(int topK) {
+        if (results == null) {
+            return Optional.empty();
+        }
+        if (topK == resultsTopK || (topK > resultsTopK && resultsTopK > results.getPairCount())) {
+            return Optional.of(results);
+        }
+        if (topK < resultsTopK) {
+            var firstPairs = new CollaborationResults();
+            results.replay(firstPairs, topK);
+            return Optional.of(firstPairs);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The snapshot of {@code source}, if there is one and it matches the source's current content.
+     * Unreadable snapshots are logged and ignored.
+     */
+    public static Optional<WorkDurationSnapshot> load(Path source) {
+        var snapshotPath = snapshotPathFor(source);
+        if (!Files.isRegularFile(snapshotPath)) {
+            return Optional.empty();
+        }
+
+        var startTime = System.currentTimeMillis();
+        try (var channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                log.warn(SNAPSHOT_INVALID, snapshotPath);
+                return Optional.empty();
+            }
+            var header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != SNAPSHOT_MAGIC || header.getInt() != SNAPSHOT_VERSION) {
+                log.warn(SNAPSHOT_INVALID, snapshotPath);
+                return Optional.empty();
+            }
+
+            var sourceSize = header.getLong();
+            var sourceLastModified = header.getLong();
+            var sourceChecksum = header.getLong();
+            if (!matchesSource(source, sourceSize, sourceLastModified, sourceChecksum)) {
+                log.info(SNAPSHOT_STALE, snapshotPath);
+                return Optional.empty();
+            }
+            var nullDateDay = header.getLong();
+            if (nullDateDay != NO_NULL_DATES && nullDateDay != LocalDate.now().toEpochDay()) {
+                log.info(SNAPSHOT_OUTDATED, snapshotPath, LocalDate.ofEpochDay(nullDateDay));
+                return Optional.empty();
+            }
+
+            var rowCount = header.getInt();
+            var resultsTopK = header.getInt();
+            var resultRowCount = header.getInt();
+            var resultPairCount = header.getInt();
+            if (channel.size() != snapshotSize(rowCount, resultRowCount)) {
+                log.warn(SNAPSHOT_INVALID, snapshotPath);
+                return Optional.empty();
+            }
+
+            var position = (long) HEADER_SIZE;
+            var days = new long[resultRowCount];
+            map(channel, FileChannel.MapMode.READ_ONLY, position, (long) resultRowCount * Long.BYTES)
+                    .asLongBuffer().get(days);
+            position += (long) resultRowCount * Long.BYTES;
+
+            var columns = new int[4 + (resultsTopK == NO_SNAPSHOT_RESULTS ? 0 : 3)][];
+            for (var column = 0; column < columns.length; column++) {
+                var count = column < 4 ? rowCount : resultRowCount;
+                columns[column] = new int[count];
+                map(channel, FileChannel.MapMode.READ_ONLY, position, (long) count * Integer.BYTES)
+                        .asIntBuffer().get(columns[column]);
+                position += (long) count * Integer.BYTES;
+            }
+
+            var workDurations = WorkDurationStore.wrap(columns[0], columns[1], columns[2], columns[3]);
+            var results = resultsTopK == NO_SNAPSHOT_RESULTS ? null
+                    : new CollaborationResults(columns[4], columns[5], columns[6], days, resultPairCount);
+
+            log.info(SNAPSHOT_LOADED, rowCount, snapshotPath, System.currentTimeMillis() - startTime);
+            return Optional.of(new WorkDurationSnapshot(source, sourceSize, sourceLastModified, sourceChecksum,
+                    nullDateDay, workDurations, results, resultsTopK));
+        } catch (IOException | RuntimeException e) {
+            log.warn(SNAPSHOT_READ_FAILED, snapshotPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot next to its source, replacing the old one. Failures, such as a read-only directory,
+     * are only logged: the snapshot is an optimisation.
+     */
+    public void save() {
+        var snapshotPath = snapshotPathFor(source);
+        var startTime = System.currentTimeMillis();
+        try {
+            var temporary = Files.createTempFile(snapshotPath.toAbsolutePath().getParent(),
+                    snapshotPath.getFileName().toString(), null);
+            try {
+                write(temporary);
+                Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            log.info(SNAPSHOT_WRITTEN, snapshotPath, System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.warn(SNAPSHOT_WRITE_FAILED, snapshotPath, e.getMessage());
+        }
+    }
+
+    private void write(Path target) throws IOException {
+        var rowCount = workDurations.size();
+        var resultRowCount = results == null ? 0 : results.size();
+
+        try (var channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var buffer = ByteBuffer.allocateDirect(SNAPSHOT_WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(SNAPSHOT_MAGIC)
+                    .putInt(SNAPSHOT_VERSION)
+                    .putLong(sourceSize)
+                    .putLong(sourceLastModified)
+                    .putLong(sourceChecksum)
+                    .putLong(nullDateDay)
+                    .putInt(rowCount)
+                    .putInt(results == null ? NO_SNAPSHOT_RESULTS : resultsTopK)
+                    .putInt(resultRowCount)
+                    .putInt(results == null ? 0 : results.getPairCount());
+
+            for (var i = 0; i < resultRowCount; i++) {
+                room(channel, buffer, Long.BYTES).putLong(results.getDays(i));
+            }
+            writeInts(channel, buffer, rowCount, workDurations::getEmpId);
+            writeInts(channel, buffer, rowCount, workDurations::getProjectId);
+            writeInts(channel, buffer, rowCount, workDurations::getFromEpochDay);
+            writeInts(channel, buffer, rowCount, workDurations::getToEpochDay);
+            if (results != null) {
+                writeInts(channel, buffer, resultRowCount, results::getEmp1);
+                writeInts(channel, buffer, resultRowCount, results::getEmp2);
+                writeInts(channel, buffer, resultRowCount, results::getProjectId);
+            }
+            drain(channel, buffer);
+            // One sync for the whole file, before it replaces the old snapshot
+            channel.force(false);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int count, IntUnaryOperator column)
+            throws IOException {
+        for (var i = 0; i < count; i++) {
+            room(channel, buffer, Integer.BYTES).putInt(column.applyAsInt(i));
+        }
+    }
+
+    /**
+     * The buffer, written out first if it has less than {@code bytes} left.
+     */
+    private static ByteBuffer room(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+        return buffer;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size)
+            throws IOException {
+        var buffer = channel.map(mode, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static long snapshotSize(int rowCount, int resultRowCount) {
+        return HEADER_SIZE + (long) resultRowCount * (Long.BYTES + 3 * Integer.BYTES) + (long) rowCount * 4 * Integer.BYTES;
+    }
+
+    private static boolean matchesSource(Path source, long size, long lastModified, long checksum) throws IOException {
+        if (Files.size(source) != size) {
+            return false;
+        }
+        return Files.getLastModifiedTime(source).toMillis() == lastModified || checksum(source) == checksum;
+    }
+
+    /**
+     * CRC32C of the file, read through memory-mapped windows.
+     */
+    private static long checksum(Path path) throws IOException {
+        var crc = new CRC32C();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            for (var position = 0L; position < size; position += MAPPED_WINDOW_SIZE) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAPPED_WINDOW_SIZE, size - position)));
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.core;
+
+import org.example.model.CollaborationResults;
+import org.example.model.CollaborationSink;
+import org.example.model.EmployeePair;
+import org.example.model.EmployeeWorkDuration;
+import org.example.model.WorkDurationStore;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.example.util.ErrorConstants.INVALID_TOP_K;
+
+/**
+ * Read-only index of who worked where and when, for questions other than the global ranking: who was active on
+ * a day or in a period, on any project or on one, and who overlapped with a given employee in a period.
+ * <p>
+ * Every employee's intervals on a project are merged first, as in the overlap stage, so the days reported here
+ * add up to the same totals. The merged intervals are sorted by project and start day; each project's range,
+ * and a second copy of all intervals in start order, is searched as an implicit balanced tree that keeps the
+ * latest end day of every subtree, so a query visits O(log n) nodes plus the ones it reports. Projects and
+ * employees are found by binary search.
+ */
+public class WorkIntervalIndex {
+    private static final int NO_BOUND_FROM = Integer.MIN_VALUE;
+    private static final int NO_BOUND_TO = Integer.MAX_VALUE;
+
+    // Merged intervals, sorted by project and then by start day
+    private final int[] empId;
+    private final int[] projectId;
+    private final int[] fromEpochDay;
+    private final int[] toEpochDay;
+    private final int[] maxEnd;
+    private final int[] projectIds;
+    private final int[] projectOffsets;
+
+    // All intervals in start order, as indices into the arrays above
+    private final int[] byStart;
+    private final int[] byStartFrom;
+    private final int[] byStartTo;
+    private final int[] byStartMaxEnd;
+
+    // Intervals of every employee, as indices into the arrays above
+    private final int[] byEmployee;
+    private final int[] employeeIds;
+    private final int[] employeeOffsets;
+
+    private WorkIntervalIndex(List<ProjectTimeline> timelines) {
+        var total = 0;
+        for (var timeline : timelines) {
+            total += timeline.intervalCount();
+        }
+        empId = new int[total];
+        projectId = new int[total];
+        fromEpochDay = new int[total];
+        toEpochDay = new int[total];
+        maxEnd = new int[total];
+        projectIds = new int[timelines.size()];
+        projectOffsets = new int[timelines.size() + 1];
+
+        var next = 0;
+        for (var p = 0; p < timelines.size(); p++) {
+            var timeline = timelines.get(p);
+            projectIds[p] = timeline.getProjectId();
+            projectOffsets[p] = next;
+            var owner = SweepLineOverlapCalculator.owners(timeline);
+            for (var interval : SweepLineOverlapCalculator.startOrder(timeline)) {
+                empId[next] = timeline.employeeId(owner[interval]);
+                projectId[next] = timeline.getProjectId();
+                fromEpochDay[next] = timeline.fromEpochDay(interval);
+                toEpochDay[next] = timeline.toEpochDay(interval);
+                next++;
+            }
+            buildMaxEnd(toEpochDay, maxEnd, projectOffsets[p], next);
+        }
+        projectOffsets[timelines.size()] = next;
+
+        byStart = sortedIndices(fromEpochDay);
+        byStartFrom = new int[total];
+        byStartTo = new int[total];
+        byStartMaxEnd = new int[total];
+        for (var i = 0; i < total; i++) {
+            byStartFrom[i] = fromEpochDay[byStart[i]];
+            byStartTo[i] = toEpochDay[byStart[i]];
+        }
+        buildMaxEnd(byStartTo, byStartMaxEnd, 0, total);
+
+        byEmployee = sortedIndices(empId);
+        var ids = new int[total];
+        var offsets = new int[total + 1];
+        var employees = 0;
+        for (var i = 0; i < total; i++) {
+            if (i == 0 || empId[byEmployee[i]] != ids[employees - 1]) {
+                ids[employees] = empId[byEmployee[i]];
+                offsets[employees++] = i;
+            }
+        }
+        offsets[employees] = total;
+        employeeIds = Arrays.copyOf(ids, employees);
+        employeeOffsets = Arrays.copyOf(offsets, employees + 1);
+    }
+
+    public static WorkIntervalIndex build(Collection<EmployeeWorkDuration> workDurations) {
+        return build(WorkDurationStore.of(workDurations));
+    }
+
+    public static WorkIntervalIndex build(WorkDurationStore workDurations) {
+        var timelines = Main.groupWorkDurationsByProject(workDurations).parallelStream()
+                .map(rows -> Main.buildProjectTimeline(workDurations, rows))
+                .toList();
+        return new WorkIntervalIndex(timelines);
+    }
+
+    public int getIntervalCount() {
+        return empId.length;
+    }
+
+    public int getProjectCount() {
+        return projectIds.length;
+    }
+
+    public int getEmployeeCount() {
+        return employeeIds.length;
+    }
+
+    public List<EmployeeWorkDuration> findActive(LocalDate day) {
+        return findActive(day, day);
+    }
+
+    /**
+     * Merged intervals on any project that share at least one day with the period, in start order.
+     *
+     * @param from first day of the period, {@code null} for no lower bound
+     * @param to   last day of the period, {@code null} for no upper bound
+     */
+    public List<EmployeeWorkDuration> findActive(LocalDate from, LocalDate to) {
+        var found = new ArrayList<EmployeeWorkDuration>();
+        query(byStartFrom, byStartTo, byStartMaxEnd, 0, byStart.length, fromDay(from), toDay(to),
+                position -> found.add(interval(byStart[position])));
+        return found;
+    }
+
+    /**
+     * Like {@link #findActive(LocalDate, LocalDate)}, on one project only.
+     */
+    public List<EmployeeWorkDuration> findActive(int projectId, LocalDate from, LocalDate to) {
+        var found = new ArrayList<EmployeeWorkDuration>();
+        var project = Arrays.binarySearch(projectIds, projectId);
+        if (project >= 0) {
+            query(fromEpochDay, toEpochDay, maxEnd, projectOffsets[project], projectOffsets[project + 1],
+                    fromDay(from), toDay(to), interval -> found.add(interval(interval)));
+        }
+        return found;
+    }
+
+    /**
+     * The employee's merged intervals, by project and start day.
+     */
+    public List<EmployeeWorkDuration> getAssignments(int empId) {
+        var found = new ArrayList<EmployeeWorkDuration>();
+        var employee = Arrays.binarySearch(employeeIds, empId);
+        if (employee >= 0) {
+            for (var i = employeeOffsets[employee]; i < employeeOffsets[employee + 1]; i++) {
+                found.add(interval(byEmployee[i]));
+            }
+        }
+        return found;
+    }
+
+    public int[] getProjects(int empId) {
+        var employee = Arrays.binarySearch(employeeIds, empId);
+        if (employee < 0) {
+            return new int[0];
+        }
+        return Arrays.stream(byEmployee, employeeOffsets[employee], employeeOffsets[employee + 1])
+                .map(interval -> projectId[interval])
+                .distinct()
+                .toArray();
+    }
+
+    public CollaborationResults findCollaborators(int empId, LocalDate from, LocalDate to) {
+        var results = new CollaborationResults();
+        findCollaborators(empId, from, to, Integer.MAX_VALUE, results);
+        return results;
+    }
+
+    /**
+     * Streams the best {@code k} pairs of {@code empId} and another employee to {@code sink}, ranked like
+     * {@link Main#streamCollaborations}, counting only the days that fall within the period.
+     * Returns the number of pairs written.
+     *
+     * @param from first day of the period, {@code null} for no lower bound
+     * @param to   last day of the period, {@code null} for no upper bound
+     */
+    public int findCollaborators(int empId, LocalDate from, LocalDate to, int k, CollaborationSink sink) {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format(INVALID_TOP_K, k));
+        }
+        var overlaps = new PairProjectOverlapMap();
+        var employee = Arrays.binarySearch(employeeIds, empId);
+        if (employee >= 0) {
+            var periodFrom = fromDay(from);
+            var periodTo = toDay(to);
+            for (var i = employeeOffsets[employee]; i < employeeOffsets[employee + 1]; i++) {
+                var interval = byEmployee[i];
+                var start = Math.max(fromEpochDay[interval], periodFrom);
+                var end = Math.min(toEpochDay[interval], periodTo);
+                if (start > end) {
+                    continue;
+                }
+                var project = Arrays.binarySearch(projectIds, projectId[interval]);
+                query(fromEpochDay, toEpochDay, maxEnd, projectOffsets[project], projectOffsets[project + 1], start, end,
+                        other -> {
+                            if (this.empId[other] != empId) {
+                                overlaps.add(EmployeePair.pack(empId, this.empId[other]), projectId[other],
+                                        Main.getOverlapInDays(start, end, fromEpochDay[other], toEpochDay[other]));
+                            }
+                        });
+            }
+        }
+
+        var ranked = overlaps.rankPairs(k);
+        overlaps.forEachRanked(ranked, sink);
+        return ranked.length;
+    }
+
+    private EmployeeWorkDuration interval(int interval) {
+        return EmployeeWorkDuration.ofEpochDays(empId[interval], projectId[interval],
+                fromEpochDay[interval], toEpochDay[interval]);
+    }
+
+    /**
+     * Indices {@code 0..values.length-1} ordered by value, then by index.
+     */
+    private static int[] sortedIndices(int[] values) {
+        var keys = new long[values.length];
+        for (var i = 0; i < keys.length; i++) {
+            keys[i] = ((long) values[i] << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        var indices = new int[keys.length];
+        for (var i = 0; i < indices.length; i++) {
+            indices[i] = (int) keys[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Treats {@code [lo, hi)}, sorted by start day, as a balanced tree rooted at its middle element and stores
+     * the latest end day of every subtree at its root. Returns the latest end day of the range.
+     */
+    private static int buildMaxEnd(int[] to, int[] maxEnd, int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        var mid = (lo + hi) >>> 1;
+        var max = Math.max(to[mid], Math.max(buildMaxEnd(to, maxEnd, lo, mid), buildMaxEnd(to, maxEnd, mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    /**
+     * Reports, in start order, the positions in {@code [lo, hi)} whose interval shares a day with
+     * {@code [queryFrom, queryTo]}. Subtrees that end before the query are skipped, and so is everything
+     * right of a node that starts after it.
+     */
+    private static void query(int[] from, int[] to, int[] maxEnd, int lo, int hi,
+                              int queryFrom, int queryTo, IntConsumer consumer) {
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < queryFrom) {
+                return;
+            }
+            query(from, to, maxEnd, lo, mid, queryFrom, queryTo, consumer);
+            if (from[mid] > queryTo) {
+                return;
+            }
+            if (to[mid] >= queryFrom) {
+                consumer.accept(mid);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private static int fromDay(LocalDate from) {
+        return from == null ? NO_BOUND_FROM : Math.toIntExact(from.toEpochDay());
+    }
+
+    private static int toDay(LocalDate to) {
+        return to == null ? NO_BOUND_TO : Math.toIntExact(to.toEpochDay());
+    }
+}
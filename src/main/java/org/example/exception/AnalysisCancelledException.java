@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class AnalysisCancelledException extends RuntimeException {
+    public AnalysisCancelledException(String message) {
+        super(message);
+    }
+}
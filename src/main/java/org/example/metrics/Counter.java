@@ -0,0 +1,26 @@
+package org.example.metrics;
+
+public enum Counter {
+    ROWS_READ,
+    ROWS_ACCEPTED,
+    PROJECTS,
+    /**
+     * Employee pairs compared by the pairwise and bitset engines, interval pairs checked by the sweep line.
+     */
+    PAIRS_EVALUATED,
+    /**
+     * Distinct (pair, project) combinations with a positive overlap.
+     */
+    PAIRS_WITH_OVERLAP,
+    /**
+     * Temporary runs written by {@link org.example.core.ExternalCollaborationEngine}, and their size in bytes.
+     */
+    SPILL_RUNS,
+    SPILLED_BYTES,
+    /**
+     * Lookups and evictions of {@link org.example.core.CollaborationResultCache}.
+     */
+    RESULT_CACHE_HITS,
+    RESULT_CACHE_MISSES,
+    RESULT_CACHE_EVICTIONS
+}
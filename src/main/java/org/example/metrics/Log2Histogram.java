@@ -0,0 +1,85 @@
+package org.example.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with power-of-two buckets: bucket {@code b} counts the values
+ * whose bit length is {@code b}, that is {@code [2^(b-1), 2^b - 1]}. Percentiles are reported as the upper
+ * bound of the bucket they fall in.
+ */
+public class Log2Histogram {
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Log2Histogram() {
+        for (var i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(Math.max(value, 0))].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        var n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getPercentile(double percentile) {
+        var rank = (long) Math.ceil(count.sum() * percentile / 100);
+        var seen = 0L;
+        for (var b = 0; b < BUCKETS; b++) {
+            seen += buckets[b].sum();
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(b), getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Non-empty buckets by their upper bound, in increasing order.
+     */
+    public Map<String, Long> getBuckets() {
+        var result = new LinkedHashMap<String, Long>();
+        for (var b = 0; b < BUCKETS; b++) {
+            var n = buckets[b].sum();
+            if (n > 0) {
+                result.put("le_" + upperBound(b), n);
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (var bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
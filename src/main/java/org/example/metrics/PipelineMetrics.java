@@ -0,0 +1,174 @@
+package org.example.metrics;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.example.util.Constants.METRICS_MBEAN_NAME;
+import static org.example.util.LoggingConstants.METRICS_MBEAN_FAILED;
+
+/**
+ * Process-wide pipeline metrics: time per {@link Stage}, {@link Counter}s, rejected rows per
+ * {@link RejectReason} and a histogram of project sizes in rows. Everything is lock-free and safe to update
+ * from worker threads; hot loops accumulate locally and report once per batch or project.
+ * Read through the getters, as JSON, or over JMX via {@link PipelineMetricsMXBean}.
+ */
+@Log4j2
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    private final Map<Stage, LongAdder> stageNanos = new EnumMap<>(Stage.class);
+    private final Map<Stage, LongAdder> stageCalls = new EnumMap<>(Stage.class);
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private final Map<RejectReason, LongAdder> rejected = new EnumMap<>(RejectReason.class);
+    private final Log2Histogram projectSizes = new Log2Histogram();
+
+    static {
+        INSTANCE.registerMBean();
+    }
+
+    private PipelineMetrics() {
+        for (var stage : Stage.values()) {
+            stageNanos.put(stage, new LongAdder());
+            stageCalls.put(stage, new LongAdder());
+        }
+        for (var counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        for (var reason : RejectReason.values()) {
+            rejected.put(reason, new LongAdder());
+        }
+    }
+
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds the time since {@code startNanos}, taken from {@link System#nanoTime()}, to the stage and
+     * returns it in nanoseconds.
+     */
+    public long stop(Stage stage, long startNanos) {
+        var elapsed = System.nanoTime() - startNanos;
+        record(stage, elapsed);
+        return elapsed;
+    }
+
+    public void record(Stage stage, long nanos) {
+        stageNanos.get(stage).add(nanos);
+        stageCalls.get(stage).increment();
+    }
+
+    public void add(Counter counter, long delta) {
+        counters.get(counter).add(delta);
+    }
+
+    public void rejected(RejectReason reason) {
+        rejected.get(reason).increment();
+    }
+
+    public void projectSize(int rows) {
+        projectSizes.record(rows);
+    }
+
+    public long getCounter(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    public long getRejected(RejectReason reason) {
+        return rejected.get(reason).sum();
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageNanos.get(stage).sum();
+    }
+
+    public Log2Histogram getProjectSizes() {
+        return projectSizes;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        var result = new LinkedHashMap<String, Long>();
+        counters.forEach((counter, value) -> result.put(counter.name(), value.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getRejectedRows() {
+        var result = new LinkedHashMap<String, Long>();
+        rejected.forEach((reason, value) -> result.put(reason.name(), value.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getStageMillis() {
+        var result = new LinkedHashMap<String, Long>();
+        stageNanos.forEach((stage, value) -> result.put(stage.name(), TimeUnit.NANOSECONDS.toMillis(value.sum())));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getStageCalls() {
+        var result = new LinkedHashMap<String, Long>();
+        stageCalls.forEach((stage, value) -> result.put(stage.name(), value.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getProjectSizeHistogram() {
+        return projectSizes.getBuckets();
+    }
+
+    @Override
+    public String getJson() {
+        return "{\"stageMillis\":" + toJson(getStageMillis())
+                + ",\"stageCalls\":" + toJson(getStageCalls())
+                + ",\"counters\":" + toJson(getCounters())
+                + ",\"rejectedRows\":" + toJson(getRejectedRows())
+                + ",\"projectSizes\":{\"count\":" + projectSizes.getCount()
+                + ",\"mean\":" + projectSizes.getMean()
+                + ",\"p50\":" + projectSizes.getPercentile(50)
+                + ",\"p90\":" + projectSizes.getPercentile(90)
+                + ",\"p99\":" + projectSizes.getPercentile(99)
+                + ",\"max\":" + projectSizes.getMax()
+                + ",\"buckets\":" + toJson(projectSizes.getBuckets()) + "}}";
+    }
+
+    @Override
+    public void reset() {
+        stageNanos.values().forEach(LongAdder::reset);
+        stageCalls.values().forEach(LongAdder::reset);
+        counters.values().forEach(LongAdder::reset);
+        rejected.values().forEach(LongAdder::reset);
+        projectSizes.reset();
+    }
+
+    private void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(METRICS_MBEAN_NAME));
+        } catch (Exception | LinkageError e) {
+            log.warn(METRICS_MBEAN_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Keys are enum names or bucket labels and values are numbers, so nothing needs escaping.
+     */
+    private static String toJson(Map<String, Long> values) {
+        var json = new StringBuilder("{");
+        values.forEach((key, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(key).append("\":").append(value);
+        });
+        return json.append('}').toString();
+    }
+}
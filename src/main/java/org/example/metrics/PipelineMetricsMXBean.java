@@ -0,0 +1,23 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link PipelineMetrics}, registered as {@value org.example.util.Constants#METRICS_MBEAN_NAME}.
+ */
+public interface PipelineMetricsMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getRejectedRows();
+
+    Map<String, Long> getStageMillis();
+
+    Map<String, Long> getStageCalls();
+
+    Map<String, Long> getProjectSizeHistogram();
+
+    String getJson();
+
+    void reset();
+}
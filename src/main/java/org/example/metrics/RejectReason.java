@@ -0,0 +1,15 @@
+package org.example.metrics;
+
+/**
+ * Why a row was rejected, one value per warning or error message in
+ * {@link org.example.util.LoggingConstants}.
+ */
+public enum RejectReason {
+    INVALID_COLUMNS,
+    INVALID_EMPLOYEE_ID,
+    INVALID_PROJECT_ID,
+    INVALID_DATE_RANGE,
+    NUMBER_PARSING_ERROR,
+    DATE_PARSING_ERROR,
+    DATE_OUT_OF_RANGE
+}
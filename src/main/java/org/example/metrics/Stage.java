@@ -0,0 +1,22 @@
+package org.example.metrics;
+
+/**
+ * Timed pipeline stages. Per-project stages run on many threads at once, so their totals add up
+ * the time of all workers and can exceed the wall-clock {@link #ANALYSIS} time.
+ */
+public enum Stage {
+    PARSE,
+    /**
+     * Date parsing within {@link #PARSE}, estimated by timing the dates of one row in every
+     * {@value org.example.util.Constants#DATE_TIMING_SAMPLE_INTERVAL}; its calls are the sampled rows.
+     */
+    DATES,
+    DEDUPLICATE,
+    GROUP,
+    MERGE,
+    OVERLAP,
+    SCORE,
+    RANK,
+    RESULTS,
+    ANALYSIS
+}
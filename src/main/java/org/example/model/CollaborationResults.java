@@ -0,0 +1,119 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.example.util.ErrorConstants.COLUMN_LENGTH_MISMATCH;
+
+/**
+ * Ranked collaborations flattened to one row per pair and project, stored column by column. Rows keep the
+ * ranking order: best pair first, and within a pair the longest project first.
+ * Filled through {@link #accept}, read through the row accessors.
+ */
+public class CollaborationResults implements CollaborationSink {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int OBJECT_OVERHEAD_BYTES = 128;
+
+    private int[] emp1 = new int[DEFAULT_CAPACITY];
+    private int[] emp2 = new int[DEFAULT_CAPACITY];
+    private int[] projectId = new int[DEFAULT_CAPACITY];
+    private long[] days = new long[DEFAULT_CAPACITY];
+    private int size;
+    private int pairCount;
+
+    public CollaborationResults() {
+    }
+
+    /**
+     * Results over existing columns of equal length, without copying them.
+     */
+    public CollaborationResults(int[] emp1, int[] emp2, int[] projectId, long[] days, int pairCount) {
+        if (emp2.length != emp1.length || projectId.length != emp1.length || days.length != emp1.length) {
+            throw new IllegalArgumentException(COLUMN_LENGTH_MISMATCH);
+        }
+        this.emp1 = emp1;
+        this.emp2 = emp2;
+        this.projectId = projectId;
+        this.days = days;
+        this.size = emp1.length;
+        this.pairCount = pairCount;
+    }
+
+    @Override
+    public void accept(PairScore score, int[] projectIds, long[] projectDays) {
+        if (size + projectIds.length > emp1.length) {
+            grow(size + projectIds.length);
+        }
+        Arrays.fill(emp1, size, size + projectIds.length, score.emp1());
+        Arrays.fill(emp2, size, size + projectIds.length, score.emp2());
+        System.arraycopy(projectIds, 0, projectId, size, projectIds.length);
+        System.arraycopy(projectDays, 0, days, size, projectDays.length);
+        size += projectIds.length;
+        pairCount++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public int getEmp1(int row) {
+        return emp1[Objects.checkIndex(row, size)];
+    }
+
+    public int getEmp2(int row) {
+        return emp2[Objects.checkIndex(row, size)];
+    }
+
+    public int getProjectId(int row) {
+        return projectId[Objects.checkIndex(row, size)];
+    }
+
+    public long getDays(int row) {
+        return days[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Approximate heap footprint, used to bound caches.
+     */
+    public long estimatedSizeInBytes() {
+        return OBJECT_OVERHEAD_BYTES + (long) emp1.length * (3 * Integer.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Hands the best {@code limit} pairs to {@code sink} again, in ranking order.
+     */
+    public void replay(CollaborationSink sink, int limit) {
+        var start = 0;
+        for (var pair = 0; pair < limit && start < size; pair++) {
+            var end = start + 1;
+            while (end < size && emp1[end] == emp1[start] && emp2[end] == emp2[start]) {
+                end++;
+            }
+
+            var total = 0L;
+            for (var row = start; row < end; row++) {
+                total += days[row];
+            }
+            // Projects are stored longest first
+            var score = new PairScore(emp1[start], emp2[start], total, days[start]);
+            sink.accept(score, Arrays.copyOfRange(projectId, start, end), Arrays.copyOfRange(days, start, end));
+            start = end;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        var capacity = Math.max(minCapacity, emp1.length + (emp1.length >> 1));
+        emp1 = Arrays.copyOf(emp1, capacity);
+        emp2 = Arrays.copyOf(emp2, capacity);
+        projectId = Arrays.copyOf(projectId, capacity);
+        days = Arrays.copyOf(days, capacity);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.model;
+
+/**
+ * Receives ranked collaborations one at a time, best pair first.
+ */
+@FunctionalInterface
+public interface CollaborationSink {
+
+    /**
+     * @param projectIds  the pair's shared projects, longest overlap first (ties by project id)
+     * @param projectDays overlap days on each of {@code projectIds}
+     */
+    void accept(PairScore score, int[] projectIds, long[] projectDays);
+}
@@ -2,29 +2,40 @@ package org.example.model;
 
 import lombok.Getter;
 
-import java.util.Objects;
-
 @Getter
 public class EmployeePair {
     private final int emp1;
     private final int emp2;
-    private final String key;  // Cache the key
 
     public EmployeePair(int id1, int id2) {
         this.emp1 = Math.min(id1, id2);
         this.emp2 = Math.max(id1, id2);
-        this.key = emp1 + "_" + emp2;  // Pre-compute the key
+    }
+
+    /**
+     * Packs the pair into one long, {@code emp1 << 32 | emp2}, with the smaller id first.
+     */
+    public static long pack(int id1, int id2) {
+        return ((long) Math.min(id1, id2) << 32) | Integer.toUnsignedLong(Math.max(id1, id2));
+    }
+
+    public static EmployeePair fromKey(long key) {
+        return new EmployeePair((int) (key >>> 32), (int) key);
+    }
+
+    public long getKey() {
+        return pack(emp1, emp2);
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof EmployeePair that)) return false;
-        return key.equals(that.key);  // Compare using cached key
+        return emp1 == that.emp1 && emp2 == that.emp2;
     }
 
     @Override
     public int hashCode() {
-        return key.hashCode();  // Use cached key's hash
+        return Long.hashCode(getKey());
     }
 }
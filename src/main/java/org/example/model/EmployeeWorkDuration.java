@@ -2,19 +2,22 @@ package org.example.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.time.LocalDate;
 import java.util.Objects;
 
-@Setter
 @Getter
 @AllArgsConstructor
 public class EmployeeWorkDuration {
-    int empId;
-    int projectId;
-    LocalDate dateFrom;
-    LocalDate dateTo;
+    private final int empId;
+    private final int projectId;
+    private final LocalDate dateFrom;
+    private final LocalDate dateTo;
+
+    public static EmployeeWorkDuration ofEpochDays(int empId, int projectId, int fromEpochDay, int toEpochDay) {
+        return new EmployeeWorkDuration(empId, projectId,
+                LocalDate.ofEpochDay(fromEpochDay), LocalDate.ofEpochDay(toEpochDay));
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,60 @@
+package org.example.model;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Ranking key of a collaborating pair, computed once from its per-project overlaps.
+ */
+public record PairScore(int emp1, int emp2, long totalDays, long maxOverlap) {
+
+    /**
+     * Longest total collaboration first, then longest single project, then lowest employee ids.
+     */
+    public static final Comparator<PairScore> RANKING = PairScore::compareRanking;
+
+    public static PairScore of(EmployeePair pair, Map<Integer, Long> daysByProject) {
+        var total = 0L;
+        var max = 0L;
+        for (var days : daysByProject.values()) {
+            total += days;
+            max = Math.max(max, days);
+        }
+        return new PairScore(pair.getEmp1(), pair.getEmp2(), total, max);
+    }
+
+    public EmployeePair toPair() {
+        return new EmployeePair(emp1, emp2);
+    }
+
+    /**
+     * {@link #RANKING} on unboxed scores, with the pairs as {@link EmployeePair#pack packed} keys.
+     */
+    public static int compareRanking(long totalDays1, long maxOverlap1, long pairKey1,
+                                     long totalDays2, long maxOverlap2, long pairKey2) {
+        var totalComparison = Long.compare(totalDays2, totalDays1);
+        if (totalComparison != 0) {
+            return totalComparison;
+        }
+
+        var maxOverlapComparison = Long.compare(maxOverlap2, maxOverlap1);
+        if (maxOverlapComparison != 0) {
+            return maxOverlapComparison;
+        }
+
+        var emp1Comparison = Integer.compare((int) (pairKey1 >>> 32), (int) (pairKey2 >>> 32));
+        if (emp1Comparison != 0) {
+            return emp1Comparison;
+        }
+        return Integer.compare((int) pairKey1, (int) pairKey2);
+    }
+
+    private static int compareRanking(PairScore score1, PairScore score2) {
+        return compareRanking(score1.totalDays, score1.maxOverlap, key(score1),
+                score2.totalDays, score2.maxOverlap, key(score2));
+    }
+
+    private static long key(PairScore score) {
+        return ((long) score.emp1 << 32) | Integer.toUnsignedLong(score.emp2);
+    }
+}
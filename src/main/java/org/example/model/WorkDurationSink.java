@@ -0,0 +1,6 @@
+package org.example.model;
+
+@FunctionalInterface
+public interface WorkDurationSink {
+    void add(int empId, int projectId, int fromEpochDay, int toEpochDay);
+}
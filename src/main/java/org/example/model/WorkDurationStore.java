@@ -0,0 +1,140 @@
+package org.example.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.example.util.ErrorConstants.COLUMN_LENGTH_MISMATCH;
+
+/**
+ * Columnar, primitive storage for parsed work durations. Dates are kept as epoch days,
+ * so no {@link java.time.LocalDate} is allocated until a row is viewed through {@link #get(int)}.
+ */
+public class WorkDurationStore implements WorkDurationSink {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int[] empId;
+    private int[] projectId;
+    private int[] fromEpochDay;
+    private int[] toEpochDay;
+    private int size;
+
+    public WorkDurationStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public WorkDurationStore(int initialCapacity) {
+        var capacity = Math.max(initialCapacity, 1);
+        empId = new int[capacity];
+        projectId = new int[capacity];
+        fromEpochDay = new int[capacity];
+        toEpochDay = new int[capacity];
+    }
+
+    /**
+     * A store over existing columns of equal length, without copying them.
+     */
+    public static WorkDurationStore wrap(int[] empId, int[] projectId, int[] fromEpochDay, int[] toEpochDay) {
+        if (projectId.length != empId.length || fromEpochDay.length != empId.length
+                || toEpochDay.length != empId.length) {
+            throw new IllegalArgumentException(COLUMN_LENGTH_MISMATCH);
+        }
+        var store = new WorkDurationStore(0);
+        store.empId = empId;
+        store.projectId = projectId;
+        store.fromEpochDay = fromEpochDay;
+        store.toEpochDay = toEpochDay;
+        store.size = empId.length;
+        return store;
+    }
+
+    public static WorkDurationStore of(Collection<EmployeeWorkDuration> workDurations) {
+        var store = new WorkDurationStore(workDurations.size());
+        workDurations.forEach(store::add);
+        return store;
+    }
+
+    @Override
+    public void add(int empId, int projectId, int fromEpochDay, int toEpochDay) {
+        if (size == this.empId.length) {
+            grow();
+        }
+        this.empId[size] = empId;
+        this.projectId[size] = projectId;
+        this.fromEpochDay[size] = fromEpochDay;
+        this.toEpochDay[size] = toEpochDay;
+        size++;
+    }
+
+    public void add(EmployeeWorkDuration workDuration) {
+        add(workDuration.getEmpId(), workDuration.getProjectId(),
+                Math.toIntExact(workDuration.getDateFrom().toEpochDay()),
+                Math.toIntExact(workDuration.getDateTo().toEpochDay()));
+    }
+
+    public void addAll(WorkDurationStore other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.empId, 0, empId, size, other.size);
+        System.arraycopy(other.projectId, 0, projectId, size, other.size);
+        System.arraycopy(other.fromEpochDay, 0, fromEpochDay, size, other.size);
+        System.arraycopy(other.toEpochDay, 0, toEpochDay, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getEmpId(int index) {
+        return empId[checkIndex(index)];
+    }
+
+    public int getProjectId(int index) {
+        return projectId[checkIndex(index)];
+    }
+
+    public int getFromEpochDay(int index) {
+        return fromEpochDay[checkIndex(index)];
+    }
+
+    public int getToEpochDay(int index) {
+        return toEpochDay[checkIndex(index)];
+    }
+
+    public EmployeeWorkDuration get(int index) {
+        checkIndex(index);
+        return EmployeeWorkDuration.ofEpochDays(empId[index], projectId[index], fromEpochDay[index], toEpochDay[index]);
+    }
+
+    public Set<EmployeeWorkDuration> toWorkDurations() {
+        var workDurations = new HashSet<EmployeeWorkDuration>();
+        for (var i = 0; i < size; i++) {
+            workDurations.add(get(i));
+        }
+        return workDurations;
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private void grow() {
+        ensureCapacity(empId.length + (empId.length >> 1) + 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= empId.length) {
+            return;
+        }
+        empId = Arrays.copyOf(empId, capacity);
+        projectId = Arrays.copyOf(projectId, capacity);
+        fromEpochDay = Arrays.copyOf(fromEpochDay, capacity);
+        toEpochDay = Arrays.copyOf(toEpochDay, capacity);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.server;
+
+import org.example.cli.OutputFormat;
+import org.example.core.OverlapEngine;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.example.util.ErrorConstants.INVALID_PARAMETER;
+import static org.example.util.ServerConstants.*;
+
+/**
+ * Options of one analyze request, from its query string, e.g. {@code ?top=10&engine=pairwise&format=jsonl}.
+ *
+ * @param topK {@link Integer#MAX_VALUE} to return every collaborating pair
+ */
+record AnalysisRequest(int topK, OverlapEngine engine, OutputFormat format) {
+
+    static AnalysisRequest parse(String rawQuery, OverlapEngine defaultEngine) {
+        var topK = Integer.MAX_VALUE;
+        var engine = defaultEngine;
+        var format = OutputFormat.JSON;
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return new AnalysisRequest(topK, engine, format);
+        }
+
+        for (var parameter : rawQuery.split("&")) {
+            var separator = parameter.indexOf('=');
+            var name = decode(separator < 0 ? parameter : parameter.substring(0, separator));
+            var value = separator < 0 ? "" : decode(parameter.substring(separator + 1));
+            switch (name) {
+                case TOP_PARAMETER -> topK = parsePositive(name, value);
+                case ENGINE_PARAMETER -> engine = parseEnum(OverlapEngine.class, name, value);
+                case FORMAT_PARAMETER -> format = parseEnum(OutputFormat.class, name, value);
+                default -> throw new IllegalArgumentException(String.format(INVALID_PARAMETER, name, value));
+            }
+        }
+        return new AnalysisRequest(topK, engine, format);
+    }
+
+    String contentType() {
+        return switch (format) {
+            case CSV -> CSV_CONTENT_TYPE;
+            case JSONL -> JSON_LINES_CONTENT_TYPE;
+            case JSON -> JSON_CONTENT_TYPE;
+        };
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static int parsePositive(String name, String value) {
+        try {
+            var number = Integer.parseInt(value.trim());
+            if (number >= 1) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_PARAMETER, name, value));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(INVALID_PARAMETER, name, value));
+        }
+    }
+}
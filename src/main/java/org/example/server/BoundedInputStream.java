@@ -0,0 +1,65 @@
+package org.example.server;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.example.util.ErrorConstants.UPLOAD_TOO_LARGE;
+
+/**
+ * Request body that fails once more than {@code limit} bytes have been read from it. The failure may reach the
+ * caller wrapped by the CSV parser or by a decompression thread, so {@link #isLimitExceeded()} tells it apart
+ * from a malformed upload.
+ */
+final class BoundedInputStream extends FilterInputStream {
+    private final long limit;
+    private long bytesRead;
+    private boolean limitExceeded;
+
+    BoundedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var value = super.read();
+        if (value >= 0) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        var read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        var skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long bytes) throws IOException {
+        bytesRead += bytes;
+        if (bytesRead > limit) {
+            limitExceeded = true;
+            throw new IOException(String.format(UPLOAD_TOO_LARGE, limit));
+        }
+    }
+}
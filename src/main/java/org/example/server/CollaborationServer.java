@@ -0,0 +1,219 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.log4j.Log4j2;
+import org.example.core.AnalysisProgress;
+import org.example.core.Compression;
+import org.example.core.Main;
+import org.example.core.OverlapEngine;
+import org.example.exception.CsvValidationException;
+import org.example.metrics.PipelineMetrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+import static org.example.util.CliConstants.OUTPUT_BUFFER_SIZE;
+import static org.example.util.ErrorConstants.*;
+import static org.example.util.LoggingConstants.*;
+import static org.example.util.ServerConstants.*;
+
+/**
+ * Embedded HTTP service around the analysis, on the JDK's {@link HttpServer}.
+ * <ul>
+ *     <li>{@code POST /analyze?top=&engine=&format=} takes a CSV upload as the request body and answers with
+ *     the ranking, as a JSON array by default or as {@code jsonl} or {@code csv}.</li>
+ *     <li>{@code GET /health} reports how many analyses are running.</li>
+ *     <li>{@code GET /metrics} returns the pipeline metrics as JSON.</li>
+ * </ul>
+ * Every request runs on its own virtual thread, which parses the body as it arrives but keeps all of its rows
+ * in memory until the analysis is done. Uploads above {@code maxUploadBytes} are therefore refused with
+ * {@code 413}, from their {@code Content-Length} up front or once that many bytes have been read. A gzip or
+ * zstd upload is decoded here, and its decoded CSV is held to the same limit, so a small compressed body cannot
+ * inflate past what a plain one may hold. The overlap
+ * stage of all requests shares one fork-join pool, so concurrent analyses split the CPU rather than multiply
+ * their threads, and results come from the shared result cache when the same rows were analysed before.
+ * At most {@code maxConcurrentAnalyses} uploads are accepted at a time; further ones are refused right away
+ * with {@code 503} and a {@code Retry-After} header instead of queueing up their bodies in memory.
+ */
+@Log4j2
+public class CollaborationServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ForkJoinPool analysisPool;
+    private final Semaphore analysisSlots;
+    private final int maxConcurrentAnalyses;
+    private final long maxUploadBytes;
+    private final OverlapEngine defaultEngine;
+
+    /**
+     * @param address               port 0 picks a free port, see {@link #getPort()}
+     * @param threads               workers of the shared overlap pool
+     * @param maxConcurrentAnalyses uploads accepted at the same time
+     * @param maxUploadBytes        larger request bodies are refused
+     */
+    public CollaborationServer(InetSocketAddress address,
+                               int threads,
+                               int maxConcurrentAnalyses,
+                               long maxUploadBytes,
+                               OverlapEngine defaultEngine) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.analysisPool = new ForkJoinPool(threads);
+        this.analysisSlots = new Semaphore(maxConcurrentAnalyses);
+        this.maxConcurrentAnalyses = maxConcurrentAnalyses;
+        this.maxUploadBytes = maxUploadBytes;
+        this.defaultEngine = defaultEngine;
+
+        server.setExecutor(requestExecutor);
+        server.createContext(ANALYZE_PATH, this::handleAnalyze);
+        server.createContext(HEALTH_PATH, this::handleHealth);
+        server.createContext(METRICS_PATH, this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+        log.info(SERVER_STARTED, server.getAddress().getHostString(), getPort(), maxConcurrentAnalyses, maxUploadBytes,
+                analysisPool.getParallelism());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(SERVER_STOP_DELAY_SECONDS);
+        requestExecutor.shutdown();
+        analysisPool.shutdown();
+        log.info(SERVER_STOPPED);
+    }
+
+    private void handleAnalyze(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!POST_METHOD.equals(exchange.getRequestMethod())) {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, String.format(METHOD_NOT_ALLOWED, exchange.getRequestMethod()));
+                return;
+            }
+            AnalysisRequest request;
+            try {
+                request = AnalysisRequest.parse(exchange.getRequestURI().getRawQuery(), defaultEngine);
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, STATUS_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            if (contentLength(exchange) > maxUploadBytes) {
+                rejectUpload(exchange);
+                return;
+            }
+            if (!analysisSlots.tryAcquire()) {
+                log.warn(SERVER_REJECTED, exchange.getRemoteAddress());
+                exchange.getResponseHeaders().set(RETRY_AFTER_HEADER, Integer.toString(RETRY_AFTER_SECONDS));
+                sendError(exchange, STATUS_UNAVAILABLE, SERVER_BUSY);
+                return;
+            }
+            try {
+                analyze(exchange, request);
+            } finally {
+                analysisSlots.release();
+            }
+        }
+    }
+
+    private void analyze(HttpExchange exchange, AnalysisRequest request) throws IOException {
+        var startTime = System.currentTimeMillis();
+        var upload = new BoundedInputStream(exchange.getRequestBody(), maxUploadBytes);
+        var body = new BoundedInputStream(Compression.decoding(upload), maxUploadBytes);
+        try {
+            var workDurations = Main.parseCsvContentToStore(body, false);
+            var results = analysisPool.submit(() -> Main.collectCollaborationsCached(
+                    workDurations, request.topK(), request.engine(), AnalysisProgress.NONE)).get();
+
+            exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, request.contentType());
+            exchange.sendResponseHeaders(STATUS_OK, CHUNKED_RESPONSE);
+            try (var out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                    OUTPUT_BUFFER_SIZE)) {
+                var writer = request.format().createWriter(out);
+                writer.writeHeader();
+                results.replay(writer, Integer.MAX_VALUE);
+                writer.writeFooter();
+            }
+            log.info(SERVER_ANALYSIS_DONE, workDurations.size(), results.getPairCount(),
+                    System.currentTimeMillis() - startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, STATUS_INTERNAL_ERROR, ANALYSIS_FAIL);
+        } catch (ExecutionException e) {
+            log.error(SERVER_REQUEST_FAILED, e.getCause().getMessage(), e.getCause());
+            sendError(exchange, STATUS_INTERNAL_ERROR, ANALYSIS_FAIL);
+        } catch (RuntimeException e) {
+            if (upload.isLimitExceeded() || body.isLimitExceeded()) {
+                rejectUpload(exchange);
+            } else if (e.getCause() instanceof CsvValidationException invalid) {
+                sendError(exchange, STATUS_BAD_REQUEST, invalid.getMessage());
+            } else {
+                log.error(SERVER_REQUEST_FAILED, e.getMessage(), e);
+                sendError(exchange, STATUS_INTERNAL_ERROR, ANALYSIS_FAIL);
+            }
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!GET_METHOD.equals(exchange.getRequestMethod())) {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, String.format(METHOD_NOT_ALLOWED, exchange.getRequestMethod()));
+                return;
+            }
+            var active = maxConcurrentAnalyses - analysisSlots.availablePermits();
+            sendJson(exchange, STATUS_OK, String.format(HEALTH_RESPONSE, active, maxConcurrentAnalyses));
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!GET_METHOD.equals(exchange.getRequestMethod())) {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, String.format(METHOD_NOT_ALLOWED, exchange.getRequestMethod()));
+                return;
+            }
+            sendJson(exchange, STATUS_OK, PipelineMetrics.get().getJson());
+        }
+    }
+
+    /**
+     * The declared body size, or {@code -1} for a chunked upload.
+     */
+    private static long contentLength(HttpExchange exchange) {
+        var header = exchange.getRequestHeaders().getFirst(CONTENT_LENGTH_HEADER);
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void rejectUpload(HttpExchange exchange) throws IOException {
+        log.warn(SERVER_UPLOAD_TOO_LARGE, exchange.getRemoteAddress(), maxUploadBytes);
+        sendError(exchange, STATUS_PAYLOAD_TOO_LARGE, String.format(UPLOAD_TOO_LARGE, maxUploadBytes));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, String.format(ERROR_RESPONSE, message.replace("\\", "\\\\").replace("\"", "\\\"")));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        var body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length == 0 ? NO_RESPONSE_BODY : body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
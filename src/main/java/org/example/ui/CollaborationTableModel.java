@@ -0,0 +1,175 @@
+package org.example.ui;
+
+import org.example.model.CollaborationResults;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+
+import static org.example.util.UIConstants.TABLE_COLUMNS;
+
+/**
+ * Table model that reads cells straight from {@link CollaborationResults}. Values are boxed only when the
+ * table asks for a visible cell, and sorting and filtering only rearrange an {@code int[]} of row indices,
+ * so millions of rows cost a few bytes each and every change fires a single event.
+ */
+public class CollaborationTableModel extends AbstractTableModel {
+    public static final int EMP1_COLUMN = 0;
+    public static final int EMP2_COLUMN = 1;
+    public static final int PROJECT_COLUMN = 2;
+    public static final int DAYS_COLUMN = 3;
+    public static final int NOT_SORTED = -1;
+
+    private static final CollaborationResults NO_RESULTS = new CollaborationResults();
+
+    private CollaborationResults results = NO_RESULTS;
+    // Result rows in display order; null shows every row in ranking order
+    private int[] view;
+    private int sortColumn = NOT_SORTED;
+    private boolean ascending;
+    private Integer filterId;
+
+    public void setResults(CollaborationResults results) {
+        this.results = results;
+        sortColumn = NOT_SORTED;
+        filterId = null;
+        view = null;
+        fireTableDataChanged();
+    }
+
+    public void clear() {
+        setResults(NO_RESULTS);
+    }
+
+    /**
+     * Sorts by the column, ascending on the first call and toggling on repeated calls. The sort is stable,
+     * so rows with equal values stay in ranking order.
+     */
+    public void toggleSort(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        rebuildView();
+    }
+
+    /**
+     * Only shows rows whose employee or project id equals {@code id}; {@code null} shows all rows.
+     */
+    public void setFilter(Integer id) {
+        filterId = id;
+        rebuildView();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    @Override
+    public int getRowCount() {
+        return view == null ? results.size() : view.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return TABLE_COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return TABLE_COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == DAYS_COLUMN ? Long.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        var row = view == null ? rowIndex : view[rowIndex];
+        return switch (columnIndex) {
+            case EMP1_COLUMN -> results.getEmp1(row);
+            case EMP2_COLUMN -> results.getEmp2(row);
+            case PROJECT_COLUMN -> results.getProjectId(row);
+            case DAYS_COLUMN -> results.getDays(row);
+            default -> throw new IndexOutOfBoundsException(columnIndex);
+        };
+    }
+
+    private void rebuildView() {
+        if (filterId == null && sortColumn == NOT_SORTED) {
+            view = null;
+        } else {
+            var rows = filterId == null ? allRows() : matchingRows(filterId);
+            if (sortColumn != NOT_SORTED) {
+                sortRows(rows);
+            }
+            view = rows;
+        }
+        fireTableDataChanged();
+    }
+
+    private int[] allRows() {
+        var rows = new int[results.size()];
+        for (var i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    private int[] matchingRows(int id) {
+        var rows = new int[results.size()];
+        var count = 0;
+        for (var row = 0; row < results.size(); row++) {
+            if (results.getEmp1(row) == id || results.getEmp2(row) == id || results.getProjectId(row) == id) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Bottom-up merge sort of row indices by the sort column; stable and free of boxing.
+     */
+    private void sortRows(int[] rows) {
+        var source = rows;
+        var target = new int[rows.length];
+        for (var width = 1; width < rows.length; width <<= 1) {
+            for (var low = 0; low < rows.length; low += width << 1) {
+                var mid = Math.min(low + width, rows.length);
+                var high = Math.min(low + (width << 1), rows.length);
+                var left = low;
+                var right = mid;
+                for (var i = low; i < high; i++) {
+                    if (left < mid && (right >= high || compareRows(source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            var swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, rows.length);
+        }
+    }
+
+    private int compareRows(int row1, int row2) {
+        var comparison = Long.compare(sortValue(row1), sortValue(row2));
+        return ascending ? comparison : -comparison;
+    }
+
+    private long sortValue(int row) {
+        return switch (sortColumn) {
+            case EMP1_COLUMN -> results.getEmp1(row);
+            case EMP2_COLUMN -> results.getEmp2(row);
+            case PROJECT_COLUMN -> results.getProjectId(row);
+            default -> results.getDays(row);
+        };
+    }
+}
@@ -1,24 +1,38 @@
 package org.example.ui;
 
+import org.example.core.AnalysisProgress;
 import org.example.core.Main;
-import org.example.model.EmployeePair;
+import org.example.core.OverlapEngine;
+import org.example.core.ParallelCsvParser;
+import org.example.exception.AnalysisCancelledException;
+import org.example.model.CollaborationResults;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.File;
-import java.io.FileInputStream;
-import java.util.Map;
-import java.util.SortedMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import static org.example.util.ErrorConstants.ERROR_DIALOG_TITLE;
 import static org.example.util.ErrorConstants.ERROR_MESSAGE_PREFIX;
 import static org.example.util.UIConstants.*;
 
 public class EmployeeCollaborationUI extends JFrame {
-    private DefaultTableModel tableModel;
+    private CollaborationTableModel tableModel;
+    private JComboBox<String> topKSelector;
+    private JTextField filterField;
+    private JButton chooseFileButton;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+    private AnalysisWorker worker;
     private final JLabel congratsLabel;
 
     private record MaxCollaboration(int emp1, int emp2, int projectId, long days) {
@@ -63,6 +77,7 @@ public class EmployeeCollaborationUI extends JFrame {
 
         topPanel.add(titleLabel, BorderLayout.WEST);
         topPanel.add(buttonPanel, BorderLayout.EAST);
+        topPanel.add(createProgressPanel(), BorderLayout.SOUTH);
 
         return topPanel;
     }
@@ -75,11 +90,66 @@ public class EmployeeCollaborationUI extends JFrame {
 
     private JPanel createButtonPanel() {
         var buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        var chooseFileButton = createStyledButton(BUTTON_TEXT);
+        filterField = createFilterField();
+        buttonPanel.add(new JLabel(FILTER_LABEL));
+        buttonPanel.add(filterField);
+        topKSelector = createTopKSelector();
+        buttonPanel.add(new JLabel(TOP_K_LABEL));
+        buttonPanel.add(topKSelector);
+        chooseFileButton = createStyledButton(BUTTON_TEXT, this::selectFile);
         buttonPanel.add(chooseFileButton);
         return buttonPanel;
     }
 
+    private JPanel createProgressPanel() {
+        var progressPanel = new JPanel(new BorderLayout(COMPONENT_SPACING, COMPONENT_SPACING));
+        progressBar = new JProgressBar(0, PROGRESS_MAX);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel(EMPTY_SPACE);
+        statusLabel.setFont(new Font(FONT_FAMILY, Font.PLAIN, NORMAL_FONT_SIZE));
+        cancelButton = createStyledButton(CANCEL_BUTTON_TEXT, this::cancelAnalysis);
+        cancelButton.setEnabled(false);
+
+        progressPanel.add(statusLabel, BorderLayout.WEST);
+        progressPanel.add(progressBar, BorderLayout.CENTER);
+        progressPanel.add(cancelButton, BorderLayout.EAST);
+        return progressPanel;
+    }
+
+    private JComboBox<String> createTopKSelector() {
+        var selector = new JComboBox<>(TOP_K_OPTIONS);
+        selector.setFont(new Font(FONT_FAMILY, Font.PLAIN, NORMAL_FONT_SIZE));
+        return selector;
+    }
+
+    private JTextField createFilterField() {
+        var field = new JTextField(FILTER_FIELD_COLUMNS);
+        field.setFont(new Font(FONT_FAMILY, Font.PLAIN, NORMAL_FONT_SIZE));
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+        });
+        return field;
+    }
+
+    private void applyFilter() {
+        var text = filterField.getText().trim();
+        try {
+            tableModel.setFilter(text.isEmpty() ? null : Integer.valueOf(text));
+        } catch (NumberFormatException e) {
+            tableModel.setFilter(null);
+        }
+    }
+
     private JLabel createCongratsLabel() {
         var label = new JLabel(EMPTY_SPACE);
         label.setFont(new Font(FONT_FAMILY, Font.PLAIN, CONGRATS_FONT_SIZE));
@@ -98,22 +168,29 @@ public class EmployeeCollaborationUI extends JFrame {
         return scrollPane;
     }
 
-    private DefaultTableModel createTableModel() {
-        return new DefaultTableModel(TABLE_COLUMNS, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    private CollaborationTableModel createTableModel() {
+        return new CollaborationTableModel();
     }
 
     private JTable createTable() {
         var table = new JTable(tableModel);
         styleTable(table);
+        setupHeaderSorting(table);
         return table;
     }
 
-    private JButton createStyledButton(String text) {
+    private void setupHeaderSorting(JTable table) {
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            public void mouseClicked(MouseEvent evt) {
+                var column = table.columnAtPoint(evt.getPoint());
+                if (column >= 0) {
+                    tableModel.toggleSort(table.convertColumnIndexToModel(column));
+                }
+            }
+        });
+    }
+
+    private JButton createStyledButton(String text, Runnable action) {
         var button = new JButton(text);
         button.setFocusPainted(false);
         button.setFont(new Font(FONT_FAMILY, Font.PLAIN, NORMAL_FONT_SIZE));
@@ -127,7 +204,7 @@ public class EmployeeCollaborationUI extends JFrame {
         ));
 
         setupButtonHoverEffect(button);
-        button.addActionListener(e -> selectFile());
+        button.addActionListener(e -> action.run());
 
         return button;
     }
@@ -202,55 +279,57 @@ public class EmployeeCollaborationUI extends JFrame {
         }
     }
 
+    /**
+     * Starts the analysis on a background worker; results and errors come back on the event thread.
+     */
     private void processFile(File file) {
-        try {
-            tableModel.setRowCount(0);
-
-            var workDurations = Main.parseCsvContent(new FileInputStream(file));
-            var sortedResults = Main.findLongestCollaboration(workDurations);
-
-            if (!sortedResults.isEmpty()) {
-                var maxCollaboration = extractMaxCollaboration(sortedResults.firstEntry());
-                updateCongratsLabel(maxCollaboration);
-                populateTableData(sortedResults);
-            } else {
-                congratsLabel.setText(NO_DATA_MESSAGE);
+        tableModel.clear();
+        congratsLabel.setText(EMPTY_SPACE);
+        progressBar.setValue(0);
+        statusLabel.setText(EMPTY_SPACE);
+        chooseFileButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+
+        var selectedTopK = (String) topKSelector.getSelectedItem();
+        var k = TOP_K_ALL.equals(selectedTopK) ? Integer.MAX_VALUE : Integer.parseInt(selectedTopK);
+        worker = new AnalysisWorker(file, k);
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                progressBar.setValue((Integer) evt.getNewValue());
             }
+        });
+        worker.execute();
+    }
 
-        } catch (Exception e) {
-            showErrorDialog(e.getMessage());
+    private void cancelAnalysis() {
+        if (worker != null) {
+            worker.cancel(false);
         }
     }
 
-    private MaxCollaboration extractMaxCollaboration(Map.Entry<EmployeePair, Map<Integer, Long>> topEntry) {
-        var pair = topEntry.getKey();
-        var projectDays = topEntry.getValue();
-
-        var maxProjectEntry = projectDays.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .orElseThrow();
+    private void showResults(CollaborationResults results) {
+        if (!results.isEmpty()) {
+            var maxCollaboration = extractMaxCollaboration(results);
+            updateCongratsLabel(maxCollaboration);
+            tableModel.setResults(results);
+            applyFilter();
+        } else {
+            congratsLabel.setText(NO_DATA_MESSAGE);
+        }
+    }
 
+    /**
+     * The first row is the top pair's longest project.
+     */
+    private MaxCollaboration extractMaxCollaboration(CollaborationResults results) {
         return new MaxCollaboration(
-                pair.getEmp1(),
-                pair.getEmp2(),
-                maxProjectEntry.getKey(),
-                maxProjectEntry.getValue()
+                results.getEmp1(0),
+                results.getEmp2(0),
+                results.getProjectId(0),
+                results.getDays(0)
         );
     }
 
-    private void populateTableData(SortedMap<EmployeePair, Map<Integer, Long>> results) {
-        results.forEach((pair, projectDays) -> {
-            projectDays.forEach((projectId, days) -> {
-                tableModel.addRow(new Object[]{
-                        pair.getEmp1(),
-                        pair.getEmp2(),
-                        projectId,
-                        days
-                });
-            });
-        });
-    }
-
     private void updateCongratsLabel(MaxCollaboration maxCollaboration) {
         congratsLabel.setText(String.format(CONGRATULATORY_MESSAGE,
                 maxCollaboration.emp1(), maxCollaboration.emp2(),
@@ -274,6 +353,76 @@ public class EmployeeCollaborationUI extends JFrame {
         }
     }
 
+    /**
+     * Parses the file and ranks the collaborations off the event thread. The worker is itself the pipeline's
+     * {@link AnalysisProgress}: parsing fills the first half of the progress bar and the projects the second,
+     * and {@link #cancel} stops the pipeline at its next check.
+     */
+    private final class AnalysisWorker extends SwingWorker<CollaborationResults, String> implements AnalysisProgress {
+        private final File file;
+        private final int k;
+
+        private AnalysisWorker(File file, int k) {
+            this.file = file;
+            this.k = k;
+        }
+
+        @Override
+        protected CollaborationResults doInBackground() {
+            return Main.analyzeFile(file.toPath(), k, OverlapEngine.fromSystemProperty(),
+                    ParallelCsvParser.defaultParallelism(), this);
+        }
+
+        @Override
+        public void parseProgress(long bytesRead, long totalBytes, long rowsParsed) {
+            var percent = totalBytes == 0 ? PARSE_PROGRESS_SHARE
+                    : (int) (bytesRead * PARSE_PROGRESS_SHARE / totalBytes);
+            report(percent, String.format(PARSE_STATUS, bytesRead / BYTES_PER_MB, totalBytes / BYTES_PER_MB, rowsParsed));
+        }
+
+        @Override
+        public void projectsDone(int done, int total) {
+            var percent = PARSE_PROGRESS_SHARE + (int) ((long) done * (PROGRESS_MAX - PARSE_PROGRESS_SHARE) / total);
+            report(percent, String.format(PROJECT_STATUS, done, total));
+        }
+
+        /**
+         * Publishes only when the percentage moves, so millions of projects don't flood the event queue.
+         */
+        private void report(int percent, String status) {
+            if (percent != getProgress()) {
+                setProgress(Math.min(percent, PROGRESS_MAX));
+                publish(status);
+            }
+        }
+
+        @Override
+        protected void process(List<String> statuses) {
+            statusLabel.setText(statuses.getLast());
+        }
+
+        @Override
+        protected void done() {
+            chooseFileButton.setEnabled(true);
+            cancelButton.setEnabled(false);
+            try {
+                showResults(get());
+                statusLabel.setText(EMPTY_SPACE);
+            } catch (CancellationException e) {
+                statusLabel.setText(CANCELLED_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof AnalysisCancelledException) {
+                    statusLabel.setText(CANCELLED_MESSAGE);
+                } else {
+                    statusLabel.setText(EMPTY_SPACE);
+                    showErrorDialog(e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             var ui = new EmployeeCollaborationUI();
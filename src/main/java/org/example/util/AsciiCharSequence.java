@@ -0,0 +1,44 @@
+package org.example.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable, mutable {@link CharSequence} view over a byte range of a buffer. {@link #charAt(int)} reads bytes
+ * as Latin-1, which is exact for the ASCII digits and separators the parsers look at; {@link #toString()}
+ * decodes the range as UTF-8 for anything that needs the real text (error messages, formatter fallbacks).
+ */
+public class AsciiCharSequence implements CharSequence {
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    public AsciiCharSequence wrap(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().subSequence(from, to);
+    }
+
+    @Override
+    public String toString() {
+        var bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.util;
+
+public class CliConstants {
+
+    // Options
+    public static final String INPUT_OPTION = "--input";
+    public static final String OUTPUT_OPTION = "--output";
+    public static final String FORMAT_OPTION = "--format";
+    public static final String TOP_OPTION = "--top";
+    public static final String THREADS_OPTION = "--threads";
+    public static final String ENGINE_OPTION = "--engine";
+    public static final String METRICS_OPTION = "--metrics";
+    public static final String EMPLOYEE_OPTION = "--employee";
+    public static final String FROM_OPTION = "--from";
+    public static final String TO_OPTION = "--to";
+    public static final String SERVE_OPTION = "--serve";
+    public static final String HOST_OPTION = "--host";
+    public static final String MAX_ANALYSES_OPTION = "--max-analyses";
+    public static final String MAX_UPLOAD_OPTION = "--max-upload";
+    public static final String MEMORY_BUDGET_OPTION = "--memory-budget";
+    public static final String SPILL_DIR_OPTION = "--spill-dir";
+    public static final String HELP_OPTION = "--help";
+    public static final String OPTION_PREFIX = "--";
+
+    // Exit codes
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_FAILURE = 1;
+    public static final int EXIT_USAGE = 2;
+
+    public static final long MIN_MEMORY_BUDGET = 1 << 20;
+    public static final long MIN_UPLOAD_LIMIT = 1 << 10;
+    public static final String SIZE_SUFFIXES = "kmg";
+
+    public static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    public static final String CSV_OUTPUT_HEADER = "rank,emp1,emp2,total_days,max_project_days,projects";
+    public static final char PROJECT_SEPARATOR = ';';
+    public static final char PROJECT_DAYS_SEPARATOR = ':';
+
+    public static final String USAGE = """
+            Usage: java -jar employees.jar [options] <input>...
+                   java -jar employees.jar --serve <port> [options]
+              --input <path>      input CSV file, directory of CSV files or quoted glob such as 'exports/*.csv';
+                                  may be repeated, arguments without an option are inputs too, and rows
+                                  repeated across inputs are counted once
+              --output <path>     output file; standard output if omitted
+              --format <format>   csv, jsonl or json; defaults from the output file extension, else csv
+              --top <k>           only write the best k pairs
+              --threads <n>       worker threads for parsing and overlap calculation
+              --engine <engine>   pairwise, sweep_line, bitset or adaptive
+              --employee <id>     only rank the pairs of this employee
+              --from <date>       with --employee, count days from this ISO date on
+              --to <date>         with --employee, count days up to this ISO date
+              --serve <port>      serve POST /analyze over HTTP instead of reading input files
+              --host <address>    with --serve, address to listen on; 127.0.0.1 if omitted, so only
+                                  local clients can connect
+              --max-analyses <n>  with --serve, uploads analysed at the same time; more get 503
+              --max-upload <size> with --serve, largest upload accepted, such as 64m, counted both as sent
+                                  and after decompression; larger ones get 413, 256m if omitted
+              --memory-budget <size>
+                                  rank within about this much heap, such as 512m or 2g, by sorting
+                                  through temporary files; for inputs larger than the heap
+              --spill-dir <dir>   with --memory-budget, where the temporary files go; the system
+                                  temporary directory if omitted
+              --metrics <path>    write pipeline timings and counters as JSON
+              --help              print this message
+            Without arguments the desktop UI is started.""";
+}
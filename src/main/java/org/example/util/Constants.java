@@ -1,5 +1,7 @@
 package org.example.util;
 
+import java.util.List;
+
 public class Constants {
 
     public static final String CSV_DELIMITER = ",";
@@ -8,6 +10,88 @@ public class Constants {
     public static final int MIN_PAIR_SIZE = 2;
     public static final String NULL_VALUE = "NULL";
     public static final String EMPTY_STRING = "";
+    public static final String OVERLAP_ENGINE_PROPERTY = "collaboration.engine";
+
+    // Date column detection
+    public static final int DATE_COLUMN_COUNT = 2;
+    public static final int DATE_FROM_COLUMN = 0;
+    public static final int DATE_TO_COLUMN = 1;
+    public static final int DATE_DETECTION_SAMPLE_SIZE = 100;
+    public static final int DATE_TIMING_SAMPLE_INTERVAL = 64;
+    public static final String MIXED_DATE_FORMATS = "mixed";
+
+    // Memory-mapped ingestion
+    public static final int MAPPED_WINDOW_SIZE = 1 << 30;
+
+    // Parallel ingestion
+    public static final String PARSER_PARALLELISM_PROPERTY = "csv.parser.parallelism";
+    public static final int PARSE_CHUNKS_PER_THREAD = 4;
+    public static final int MIN_PARSE_CHUNK_SIZE = 1 << 20;
+    public static final int DETECTION_CHUNK_SIZE = 1 << 18;
+    public static final int BOUNDARY_SCAN_BUFFER_SIZE = 1 << 16;
+
+    // Compressed input
+    public static final int GZIP_MAGIC = 0x1f8b;
+    public static final int ZSTD_MAGIC = 0xFD2FB528;
+    public static final int COMPRESSION_MAGIC_BYTES = 4;
+    public static final int DECOMPRESSED_CHUNK_SIZE = 1 << 20;
+    public static final int DECOMPRESSED_QUEUE_CAPACITY = 4;
+    public static final String DECOMPRESSION_THREAD_NAME = "csv-decompressor";
+
+    // Multi-file ingestion
+    public static final List<String> CSV_EXTENSIONS = List.of(".csv", ".csv.gz", ".csv.zst");
+    public static final String GLOB_CHARACTERS = "*?[{";
+    public static final int DEDUPLICATION_SHARDS = 64;
+
+    // External sort
+    public static final String SPILL_DIRECTORY_PREFIX = "collaboration-spill";
+    public static final String SPILL_RUN_EXTENSION = ".run";
+    public static final int SPILL_BUFFER_SIZE = 1 << 16;
+    public static final int MIN_SPILL_BUFFER_SIZE = 1 << 12;
+    public static final int SPILL_ROW_BYTES = 32;
+    public static final int SPILL_BATCH_ROW_BYTES = 128;
+    public static final int SPILL_PAIR_BYTES = 96;
+    public static final int SPILL_RANKED_PAIR_BYTES = 64;
+    public static final int SPILL_PROJECT_BYTES = Integer.BYTES + Long.BYTES;
+    public static final int MIN_SPILL_RECORDS = 1024;
+
+    // Overlap scheduling
+    public static final int OVERLAP_TASKS_PER_THREAD = 4;
+    public static final long MIN_OVERLAP_TASK_COST = 1 << 16;
+    public static final int OVERLAP_MAP_SHARDS = 64;
+    public static final int OVERLAP_MAP_HEAP_SHARE = 4;
+
+    // Bitset overlap
+    public static final long BITSET_MAX_WORDS = 1 << 24;
+    public static final int BITSET_WORDS_PER_SWEEP_COMPARISON = 8;
+
+    // Binary snapshots
+    public static final String SNAPSHOT_PROPERTY = "csv.snapshot.enabled";
+    public static final String SNAPSHOT_EXTENSION = ".snapshot";
+    public static final int SNAPSHOT_MAGIC = 0x45574453;
+    public static final int SNAPSHOT_VERSION = 2;
+    public static final int NO_SNAPSHOT_RESULTS = 0;
+    public static final int SNAPSHOT_WRITE_BUFFER_SIZE = 1 << 16;
+
+    // Result cache
+    public static final String RESULT_CACHE_ENTRIES_PROPERTY = "result.cache.max.entries";
+    public static final String RESULT_CACHE_BYTES_PROPERTY = "result.cache.max.bytes";
+    public static final int DEFAULT_RESULT_CACHE_ENTRIES = 16;
+    public static final long DEFAULT_RESULT_CACHE_BYTES = 256L << 20;
+    public static final String RESULT_CACHE_DIGEST = "SHA-256";
+    public static final int ROW_DIGEST_BUFFER_SIZE = 1 << 16;
+
+    // Rejected row warnings
+    public static final String REJECTED_ROW_LOG_LIMIT_PROPERTY = "csv.rejected.log.limit";
+    public static final String REJECTED_ROW_LOG_SAMPLE_PROPERTY = "csv.rejected.log.sample";
+    public static final int DEFAULT_REJECTED_ROW_LOG_LIMIT = 20;
+    public static final int DEFAULT_REJECTED_ROW_LOG_SAMPLE = 10_000;
+
+    // Metrics
+    public static final String METRICS_MBEAN_NAME = "org.example:type=PipelineMetrics";
+
+    // Progress reporting
+    public static final int PROGRESS_REPORT_LINES = 1 << 16;
 
     // ISO formats
     public static final String ISO_DATE = "yyyy-MM-dd";
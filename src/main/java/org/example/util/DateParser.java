@@ -0,0 +1,163 @@
+package org.example.util;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.exception.DateParseException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.example.util.Constants.*;
+import static org.example.util.ErrorConstants.UNSUPPORTED_DATE_FORMAT;
+import static org.example.util.LoggingConstants.DATE_FORMATS_DETECTED;
+
+/**
+ * Date parser for a single import. The format of each date column is detected from its first
+ * {@link Constants#DATE_DETECTION_SAMPLE_SIZE} non-NULL values; after that, values are parsed with the detected
+ * format and only fall back to the full format list when they don't match it. ISO dates always take an
+ * allocation-free fast path. NULL dates resolve to the date the import started.
+ * <p>
+ * Instances keep per-import state. They are not thread-safe while detection is running; once
+ * {@link #finishDetection()} has been called, a parser can be shared by several threads.
+ */
+@Log4j2
+public class DateParser {
+    private static final long ALL_FORMATS = (1L << DateUtil.SUPPORTED_FORMATTERS.size()) - 1;
+    private static final int NO_FORMAT = -1;
+
+    private final LocalDate today;
+    private final int todayEpochDay;
+    private final ColumnFormat[] columns;
+    private final LongAdder nullDates = new LongAdder();
+
+    public DateParser() {
+        this(LocalDate.now());
+    }
+
+    public DateParser(LocalDate today) {
+        this.today = today;
+        this.todayEpochDay = Math.toIntExact(today.toEpochDay());
+        this.columns = new ColumnFormat[DATE_COLUMN_COUNT];
+        for (var i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnFormat();
+        }
+    }
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    /**
+     * Parses the value of the given date column into an epoch day.
+     *
+     * @throws DateParseException if none of the supported formats match
+     */
+    public int parseEpochDay(int column, CharSequence value) {
+        if (DateUtil.isNullDate(value)) {
+            nullDates.increment();
+            return todayEpochDay;
+        }
+
+        var format = columns[column];
+        if (!format.isDetected()) {
+            format.observe(value.toString().trim());
+        }
+
+        var epochDay = DateUtil.parseIsoEpochDay(value);
+        if (epochDay != DateUtil.NOT_ISO_DATE) {
+            return epochDay;
+        }
+
+        var text = value.toString().trim();
+        // ISO (index 0) columns are fully served by the fast path above
+        if (format.detected > 0) {
+            try {
+                return Math.toIntExact(LocalDate.parse(text,
+                        DateUtil.SUPPORTED_FORMATTERS.get(format.detected)).toEpochDay());
+            } catch (DateTimeParseException e) {
+                // Not in the column's format, try all of them below
+            }
+        }
+
+        format.fallbacks.increment();
+        return Math.toIntExact(DateUtil.parseDate(text, today).toEpochDay());
+    }
+
+    /**
+     * Stops sampling and settles on whatever the columns have shown so far.
+     */
+    public void finishDetection() {
+        for (var column : columns) {
+            column.finish();
+        }
+    }
+
+    /**
+     * The detected pattern per date column, or {@link Constants#MIXED_DATE_FORMATS} if no single format matched
+     * every sampled value.
+     */
+    public List<String> getDetectedFormats() {
+        var formats = new ArrayList<String>(columns.length);
+        for (var column : columns) {
+            formats.add(column.detected >= 0 ? DateUtil.SUPPORTED_PATTERNS.get(column.detected) : MIXED_DATE_FORMATS);
+        }
+        return formats;
+    }
+
+    public long getFallbackCount() {
+        var total = 0L;
+        for (var column : columns) {
+            total += column.fallbacks.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Number of NULL dates resolved to {@link #getToday()} so far.
+     */
+    public long getNullDateCount() {
+        return nullDates.sum();
+    }
+
+    public void logDetectedFormats() {
+        finishDetection();
+        log.info(DATE_FORMATS_DETECTED, getDetectedFormats(), getFallbackCount());
+    }
+
+    private static final class ColumnFormat {
+        private long candidates = ALL_FORMATS;
+        private int samples;
+        private int detected = NO_FORMAT;
+        private boolean finished;
+        private final LongAdder fallbacks = new LongAdder();
+
+        private boolean isDetected() {
+            return finished;
+        }
+
+        private void observe(String value) {
+            var remaining = candidates;
+            while (remaining != 0) {
+                var index = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                try {
+                    DateUtil.SUPPORTED_FORMATTERS.get(index).parse(value);
+                } catch (DateTimeParseException e) {
+                    candidates &= ~(1L << index);
+                }
+            }
+            if (++samples >= DATE_DETECTION_SAMPLE_SIZE) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (!finished) {
+                detected = candidates != 0 && samples > 0 ? Long.numberOfTrailingZeros(candidates) : NO_FORMAT;
+                finished = true;
+            }
+        }
+    }
+}
@@ -6,59 +6,162 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 import static org.example.util.Constants.*;
 import static org.example.util.ErrorConstants.UNSUPPORTED_DATE_FORMAT;
 
 public class DateUtil {
 
+    /**
+     * Returned by {@link #parseIsoEpochDay(CharSequence)} when the text is not a plain ISO date.
+     */
+    public static final int NOT_ISO_DATE = Integer.MIN_VALUE;
+
+    public static final List<String> SUPPORTED_PATTERNS = List.of(
+            // ISO formats
+            ISO_DATE, ISO_DATE_TIME, ISO_DATE_TIME_ZONE, ISO_INSTANT,
+            // European formats
+            EU_DATE, EU_DATE_SLASH, EU_DATE_DOT, EU_DATE_SPACE,
+            // US formats
+            US_DATE, US_DATE_SLASH, US_DATE_DOT, US_DATE_SPACE,
+            // Year first formats
+            YEAR_FIRST_DASH, YEAR_FIRST_SLASH, YEAR_FIRST_DOT, YEAR_FIRST_SPACE,
+            // Short year formats
+            SHORT_YEAR_EU, SHORT_YEAR_US, SHORT_YEAR_FIRST,
+            // Month name formats
+            FULL_MONTH_NAME, SHORT_MONTH_NAME, FULL_MONTH_NAME_COMMA, SHORT_MONTH_NAME_COMMA
+    );
+
+    public static final List<DateTimeFormatter> SUPPORTED_FORMATTERS = SUPPORTED_PATTERNS.stream()
+            .map(DateTimeFormatter::ofPattern)
+            .toList();
+
+    private static final DateTimeFormatter ALL_FORMATS_FORMATTER = buildAllFormatsFormatter();
+
+    private static final int DAYS_0000_TO_1970 = 719_528;
+
     public static LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().equals(EMPTY_STRING) ||
-                dateStr.equalsIgnoreCase(NULL_VALUE)) {
-            return LocalDate.now();
-        }
+        return parseDate(dateStr, LocalDate.now());
+    }
 
-        var formatter = new DateTimeFormatterBuilder()
-                // ISO formats
-                .appendOptional(DateTimeFormatter.ofPattern(ISO_DATE))
-                .appendOptional(DateTimeFormatter.ofPattern(ISO_DATE_TIME))
-                .appendOptional(DateTimeFormatter.ofPattern(ISO_DATE_TIME_ZONE))
-                .appendOptional(DateTimeFormatter.ofPattern(ISO_INSTANT))
-
-                // European formats
-                .appendOptional(DateTimeFormatter.ofPattern(EU_DATE))
-                .appendOptional(DateTimeFormatter.ofPattern(EU_DATE_SLASH))
-                .appendOptional(DateTimeFormatter.ofPattern(EU_DATE_DOT))
-                .appendOptional(DateTimeFormatter.ofPattern(EU_DATE_SPACE))
-
-                // US formats
-                .appendOptional(DateTimeFormatter.ofPattern(US_DATE))
-                .appendOptional(DateTimeFormatter.ofPattern(US_DATE_SLASH))
-                .appendOptional(DateTimeFormatter.ofPattern(US_DATE_DOT))
-                .appendOptional(DateTimeFormatter.ofPattern(US_DATE_SPACE))
-
-                // Year first formats
-                .appendOptional(DateTimeFormatter.ofPattern(YEAR_FIRST_DASH))
-                .appendOptional(DateTimeFormatter.ofPattern(YEAR_FIRST_SLASH))
-                .appendOptional(DateTimeFormatter.ofPattern(YEAR_FIRST_DOT))
-                .appendOptional(DateTimeFormatter.ofPattern(YEAR_FIRST_SPACE))
-
-                // Short year formats
-                .appendOptional(DateTimeFormatter.ofPattern(SHORT_YEAR_EU))
-                .appendOptional(DateTimeFormatter.ofPattern(SHORT_YEAR_US))
-                .appendOptional(DateTimeFormatter.ofPattern(SHORT_YEAR_FIRST))
-
-                // Month name formats
-                .appendOptional(DateTimeFormatter.ofPattern(FULL_MONTH_NAME))
-                .appendOptional(DateTimeFormatter.ofPattern(SHORT_MONTH_NAME))
-                .appendOptional(DateTimeFormatter.ofPattern(FULL_MONTH_NAME_COMMA))
-                .appendOptional(DateTimeFormatter.ofPattern(SHORT_MONTH_NAME_COMMA))
-                .toFormatter();
+    /**
+     * Parses the date against the full list of supported formats, returning {@code today} for empty or NULL values.
+     */
+    public static LocalDate parseDate(String dateStr, LocalDate today) {
+        if (isNullDate(dateStr)) {
+            return today;
+        }
 
         try {
-            return LocalDate.parse(dateStr.trim(), formatter);
+            return LocalDate.parse(dateStr.trim(), ALL_FORMATS_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new DateParseException(String.format(UNSUPPORTED_DATE_FORMAT, dateStr));
         }
     }
+
+    /**
+     * True for missing, blank and NULL values, ignoring surrounding whitespace. Does not allocate.
+     */
+    public static boolean isNullDate(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+
+        var start = 0;
+        var end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end == start) {
+            return true;
+        }
+        if (end - start != NULL_VALUE.length()) {
+            return false;
+        }
+        for (var i = 0; i < NULL_VALUE.length(); i++) {
+            if (Character.toUpperCase(value.charAt(start + i)) != NULL_VALUE.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a {@code yyyy-MM-dd} date, ignoring surrounding whitespace, straight into an epoch day without
+     * allocating. Returns {@link #NOT_ISO_DATE} for anything else, including out of range days, so the caller
+     * can fall back to the formatter, which resolves those the same way it always has.
+     */
+    public static int parseIsoEpochDay(CharSequence text) {
+        var start = 0;
+        var end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != ISO_DATE.length() || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return NOT_ISO_DATE;
+        }
+
+        var year = parseDigits(text, start, 4);
+        var month = parseDigits(text, start + 5, 2);
+        var day = parseDigits(text, start + 8, 2);
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Epoch day of a validated year/month/day, or {@link #NOT_ISO_DATE} when the fields do not form a real date.
+     * Mirrors {@link LocalDate#toEpochDay()} for positive years.
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NOT_ISO_DATE;
+        }
+
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return (int) (total - DAYS_0000_TO_1970);
+    }
+
+    private static int parseDigits(CharSequence text, int start, int length) {
+        var value = 0;
+        for (var i = start; i < start + length; i++) {
+            var digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static DateTimeFormatter buildAllFormatsFormatter() {
+        var builder = new DateTimeFormatterBuilder();
+        SUPPORTED_FORMATTERS.forEach(builder::appendOptional);
+        return builder.toFormatter();
+    }
 }
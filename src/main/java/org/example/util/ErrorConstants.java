@@ -7,6 +7,28 @@ public class ErrorConstants {
     public static final String FILE_READ_FAIL = "Failed to read input file";
     public static final String CSV_READ_FAIL = "Failed to read CSV file: ";
     public static final String UNSUPPORTED_DATE_FORMAT = "Unsupported date format: %s";
+    public static final String INVALID_PARALLELISM = "Parallelism must be at least 1, got %d";
+    public static final String INVALID_TOP_K = "Top-K must be at least 1, got %d";
+    public static final String LINE_TOO_LONG = "Line %d is longer than the %d byte mapping window";
+    public static final String UNKNOWN_OPTION = "Unknown option: %s";
+    public static final String MISSING_OPTION_VALUE = "Option %s needs a value";
+    public static final String INVALID_OPTION_NUMBER = "Option %s needs a positive number, got %s";
+    public static final String INVALID_OPTION_VALUE = "Option %s does not accept %s";
+    public static final String PERIOD_WITHOUT_EMPLOYEE = "Options --from and --to need --employee";
+    public static final String INVALID_PERIOD = "Period start %s is after its end %s";
+    public static final String INVALID_SIZE = "Option %s needs a size of at least %d bytes, such as 512m, got %s";
+    public static final String MEMORY_BUDGET_WITH_EMPLOYEE = "Option --memory-budget cannot be combined with --employee";
+    public static final String SPILL_DIR_WITHOUT_MEMORY_BUDGET = "Option --spill-dir needs --memory-budget";
+    public static final String NO_INPUT_FILES = "At least one input file is required";
+    public static final String NO_MATCHING_INPUTS = "No input files match %s";
+    public static final String UNRESOLVED_ENGINE = "Engine %s must be resolved for each project";
+    public static final String COLUMN_LENGTH_MISMATCH = "All columns must have the same length";
+    public static final String ANALYSIS_CANCELLED = "Analysis was cancelled";
+    public static final String ANALYSIS_FAIL = "Collaboration analysis failed";
+    public static final String SERVER_BUSY = "Too many analyses running, retry later";
+    public static final String UPLOAD_TOO_LARGE = "Upload is larger than the %d byte limit";
+    public static final String METHOD_NOT_ALLOWED = "Method %s is not allowed";
+    public static final String INVALID_PARAMETER = "Parameter %s does not accept %s";
     public static final String ERROR_DIALOG_TITLE = "Error";
     public static final String ERROR_MESSAGE_PREFIX = "Error processing file: ";
 
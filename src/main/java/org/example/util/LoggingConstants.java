@@ -7,6 +7,42 @@ public class LoggingConstants {
     public static final String PROCESSING_TIME = "Finding longest collaboration took: {} ms";
     public static final String INVALID_COLUMNS = "Line {}: Invalid number of columns, expected {} but got {}";
     public static final String CSV_READ_ERROR = "Failed to read CSV file: {}";
+    public static final String PARALLEL_PARSE_CHUNKS = "Parsing {} chunks with parallelism {}";
+    public static final String INPUT_FILES_MERGED = "Merged {} input files into {} distinct records, {} duplicates dropped in {} ms";
+    public static final String EXTERNAL_ANALYSIS_DONE =
+            "Analysed {} records within {} bytes: {} row runs, {} pair runs and {} ranked runs, {} bytes spilled to {} in {} ms";
+    public static final String SPILL_CLEANUP_FAILED = "Could not delete spill file {}: {}";
+    public static final String DATE_FORMATS_DETECTED =
+            "Detected date formats [DateFrom, DateTo]: {}, {} values needed the full format list";
+
+    public static final String REJECTED_ROWS_SAMPLED = "Further {} rows are only logged one in {}";
+    public static final String REJECTED_ROWS_SUMMARY = "Rejected {} rows: {}";
+
+    public static final String SNAPSHOT_LOADED = "Loaded {} rows from snapshot {} in {} ms";
+    public static final String SNAPSHOT_STALE = "Snapshot {} does not match its source file, parsing again";
+    public static final String SNAPSHOT_OUTDATED = "Snapshot {} resolved NULL dates to {}, parsing again";
+    public static final String SNAPSHOT_INVALID = "Ignoring snapshot {}: unknown format";
+    public static final String SNAPSHOT_READ_FAILED = "Could not read snapshot {}: {}";
+    public static final String SNAPSHOT_WRITTEN = "Wrote snapshot {} in {} ms";
+    public static final String SNAPSHOT_WRITE_FAILED = "Could not write snapshot {}: {}";
+
+    public static final String RESULT_CACHE_HIT = "Result cache hit ({} hits, {} misses)";
+    public static final String RESULT_CACHE_EVICTED = "Evicted cached results {}, {} bytes still cached";
+
+    public static final String PROJECTS_RECOMPUTED = "Recomputed {} of {} projects in {} ms";
+
+    public static final String METRICS_MBEAN_FAILED = "Could not register the metrics MBean: {}";
+    public static final String METRICS_WRITTEN = "Wrote pipeline metrics to {}";
+
+    public static final String SERVER_STARTED = "Analysis server listening on {}:{}, {} concurrent analyses of up to {} bytes on {} threads";
+    public static final String SERVER_STOPPED = "Analysis server stopped";
+    public static final String SERVER_REJECTED = "Rejected analysis request from {}: server busy";
+    public static final String SERVER_UPLOAD_TOO_LARGE = "Rejected analysis request from {}: upload over {} bytes";
+    public static final String SERVER_ANALYSIS_DONE = "Answered analysis of {} records with {} pairs in {} ms";
+    public static final String SERVER_REQUEST_FAILED = "Analysis request failed: {}";
+
+    public static final String BATCH_RESULTS_WRITTEN = "Wrote {} collaborations from {} records to {} in {} ms";
+    public static final String BATCH_FAILED = "Batch run failed: {}";
 
     public static final String TOP_COLLABORATION_SUMMARY =
             "Top collaborating pair: Employees {} and {} with total collaboration time of {} days across {} projects";
@@ -30,5 +66,6 @@ public class LoggingConstants {
     public static final String INVALID_DATE_RANGE = "Line {}: dateFrom ({}) is after dateTo ({})";
     public static final String NUMBER_PARSING_ERROR = "Line {}: Number parsing error: {}";
     public static final String DATE_PARSING_ERROR = "Line {}: {}";
+    public static final String DATE_OUT_OF_RANGE = "Line {}: Date out of supported range: {}";
     public static final String PROJECT_OVERLAP = "Project {}: emp{} & emp{} overlap: {} days";
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package org.example.util;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.Level;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.RejectReason;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.example.util.Constants.*;
+import static org.example.util.LoggingConstants.REJECTED_ROWS_SAMPLED;
+import static org.example.util.LoggingConstants.REJECTED_ROWS_SUMMARY;
+
+/**
+ * Counts the rows rejected during one parse and rate-limits their warnings per {@link RejectReason}: the first
+ * {@value org.example.util.Constants#DEFAULT_REJECTED_ROW_LOG_LIMIT} rows of each reason are logged, after that
+ * only one in {@value org.example.util.Constants#DEFAULT_REJECTED_ROW_LOG_SAMPLE}. {@link #logSummary()} reports
+ * the totals at the end. Shared by the threads parsing the same file.
+ */
+@Log4j2
+public class RejectedRowLog {
+    private final int limit;
+    private final int sampleEvery;
+    private final AtomicLongArray counts = new AtomicLongArray(RejectReason.values().length);
+
+    /**
+     * Limits from the {@value org.example.util.Constants#REJECTED_ROW_LOG_LIMIT_PROPERTY} and
+     * {@value org.example.util.Constants#REJECTED_ROW_LOG_SAMPLE_PROPERTY} system properties.
+     */
+    public RejectedRowLog() {
+        this(Integer.getInteger(REJECTED_ROW_LOG_LIMIT_PROPERTY, DEFAULT_REJECTED_ROW_LOG_LIMIT),
+                Integer.getInteger(REJECTED_ROW_LOG_SAMPLE_PROPERTY, DEFAULT_REJECTED_ROW_LOG_SAMPLE));
+    }
+
+    /**
+     * @param sampleEvery 0 logs nothing past the limit
+     */
+    public RejectedRowLog(int limit, int sampleEvery) {
+        this.limit = limit;
+        this.sampleEvery = sampleEvery;
+    }
+
+    public void warn(RejectReason reason, String message, Object... params) {
+        reject(Level.WARN, reason, message, params);
+    }
+
+    public void error(RejectReason reason, String message, Object... params) {
+        reject(Level.ERROR, reason, message, params);
+    }
+
+    public long getCount(RejectReason reason) {
+        return counts.get(reason.ordinal());
+    }
+
+    public long getTotal() {
+        var total = 0L;
+        for (var i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public void logSummary() {
+        var total = getTotal();
+        if (total == 0) {
+            return;
+        }
+        var byReason = new LinkedHashMap<RejectReason, Long>();
+        for (var reason : RejectReason.values()) {
+            if (getCount(reason) > 0) {
+                byReason.put(reason, getCount(reason));
+            }
+        }
+        log.info(REJECTED_ROWS_SUMMARY, total, byReason);
+    }
+
+    private void reject(Level level, RejectReason reason, String message, Object... params) {
+        PipelineMetrics.get().rejected(reason);
+        var count = counts.incrementAndGet(reason.ordinal());
+        if (count <= limit || (sampleEvery > 0 && count % sampleEvery == 0)) {
+            log.log(level, message, params);
+        }
+        if (count == limit) {
+            log.log(level, REJECTED_ROWS_SAMPLED, reason, sampleEvery);
+        }
+    }
+}
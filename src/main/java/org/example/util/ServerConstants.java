@@ -0,0 +1,40 @@
+package org.example.util;
+
+public class ServerConstants {
+
+    // Endpoints
+    public static final String ANALYZE_PATH = "/analyze";
+    public static final String HEALTH_PATH = "/health";
+    public static final String METRICS_PATH = "/metrics";
+
+    // Query parameters of the analyze endpoint
+    public static final String TOP_PARAMETER = "top";
+    public static final String ENGINE_PARAMETER = "engine";
+    public static final String FORMAT_PARAMETER = "format";
+
+    // HTTP
+    public static final String POST_METHOD = "POST";
+    public static final String GET_METHOD = "GET";
+    public static final String CONTENT_TYPE_HEADER = "Content-Type";
+    public static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    public static final String JSON_LINES_CONTENT_TYPE = "application/x-ndjson; charset=utf-8";
+    public static final String CSV_CONTENT_TYPE = "text/csv; charset=utf-8";
+    public static final int STATUS_OK = 200;
+    public static final int STATUS_BAD_REQUEST = 400;
+    public static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    public static final int STATUS_PAYLOAD_TOO_LARGE = 413;
+    public static final int STATUS_INTERNAL_ERROR = 500;
+    public static final int STATUS_UNAVAILABLE = 503;
+    public static final long CHUNKED_RESPONSE = 0;
+    public static final long NO_RESPONSE_BODY = -1;
+
+    public static final String DEFAULT_SERVER_HOST = "127.0.0.1";
+    public static final int DEFAULT_MAX_CONCURRENT_ANALYSES = 4;
+    public static final long DEFAULT_MAX_UPLOAD_BYTES = 256L << 20;
+    public static final int RETRY_AFTER_SECONDS = 1;
+    public static final int SERVER_STOP_DELAY_SECONDS = 1;
+    public static final String HEALTH_RESPONSE = "{\"status\":\"ok\",\"activeAnalyses\":%d,\"maxAnalyses\":%d}";
+    public static final String ERROR_RESPONSE = "{\"error\":\"%s\"}";
+}
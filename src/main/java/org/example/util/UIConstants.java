@@ -13,6 +13,15 @@ public class UIConstants {
     public static final String EMPTY_SPACE = " ";
     public static final String TITLE_TEXT = "Employee Collaboration Analysis";
     public static final String BUTTON_TEXT = "Choose CSV File";
+    public static final String CANCEL_BUTTON_TEXT = "Cancel";
+    public static final String CANCELLED_MESSAGE = "Analysis cancelled";
+    public static final String PARSE_STATUS = "Read %d of %d MB, %,d rows";
+    public static final String PROJECT_STATUS = "Projects done: %,d of %,d";
+    public static final String FILTER_LABEL = "Filter by ID:";
+    public static final int FILTER_FIELD_COLUMNS = 8;
+    public static final String TOP_K_LABEL = "Show top:";
+    public static final String TOP_K_ALL = "All";
+    public static final String[] TOP_K_OPTIONS = {TOP_K_ALL, "10", "100", "1000"};
     // Table columns
     public static final String[] TABLE_COLUMNS = {
             "Employee ID #1",
@@ -42,6 +51,11 @@ public class UIConstants {
     public static final int TABLE_ROW_HEIGHT = 30;
     public static final int BUTTON_PADDING = 8;
     public static final int BUTTON_HORIZONTAL_PADDING = 15;
+
+    // Progress
+    public static final int PROGRESS_MAX = 100;
+    public static final int PARSE_PROGRESS_SHARE = 50;
+    public static final long BYTES_PER_MB = 1 << 20;
     public static final String CONGRATULATORY_MESSAGE =
             "<html>Congratulations to the most devoted team players!<br/>Employees %d and %d have worked on project %d for %d days!</html>";
 
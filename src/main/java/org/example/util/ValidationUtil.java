@@ -3,16 +3,25 @@ package org.example.util;
 import lombok.extern.log4j.Log4j2;
 import org.example.exception.CsvValidationException;
 import org.example.exception.DateParseException;
+import org.example.metrics.PipelineMetrics;
+import org.example.metrics.RejectReason;
+import org.example.metrics.Stage;
 import org.example.model.EmployeeWorkDuration;
+import org.example.model.WorkDurationSink;
 
+import java.time.LocalDate;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import static org.example.util.Constants.DATE_FROM_COLUMN;
+import static org.example.util.Constants.DATE_TIMING_SAMPLE_INTERVAL;
+import static org.example.util.Constants.DATE_TO_COLUMN;
 import static org.example.util.LoggingConstants.*;
 
 @Log4j2
 public class ValidationUtil {
     public static final Pattern DIGIT_PATTERN = Pattern.compile("\\d+");
+    private static final int INVALID_ID = -1;
 
 
     public static void validateHeader(String headerLine) {
@@ -37,51 +46,93 @@ public class ValidationUtil {
         }
     }
 
-    public static EmployeeWorkDuration parseEmployeeWorkDuration(String[] parts, int lineNumber) {
+    public static void validateResults(int acceptedRecords) {
+        if (acceptedRecords == 0) {
+            throw new CsvValidationException(NO_VALID_RECORDS);
+        }
+    }
+
+    /**
+     * Validates one row and adds it to the sink. Fields may be any {@link CharSequence}, so byte-level readers
+     * can pass reusable views instead of Strings; surrounding whitespace is ignored. Rejected rows are reported
+     * to {@code rejections}.
+     */
+    public static boolean parseEmployeeWorkDuration(CharSequence[] parts, int lineNumber, DateParser dateParser,
+                                                    RejectedRowLog rejections, WorkDurationSink sink) {
         try {
             // Validate and parse employee ID
-            var empIdStr = parts[0].trim();
-            if (!DIGIT_PATTERN.matcher(empIdStr).matches()) {
-                log.warn(INVALID_EMPLOYEE_ID, lineNumber, empIdStr);
-                return null;
+            var empId = parseId(parts[0]);
+            if (empId == INVALID_ID) {
+                rejections.warn(RejectReason.INVALID_EMPLOYEE_ID, INVALID_EMPLOYEE_ID, lineNumber, parts[0].toString().trim());
+                return false;
             }
-            var empId = Integer.parseInt(empIdStr);
 
             // Validate and parse project ID
-            var projectIdStr = parts[1].trim();
-            if (!DIGIT_PATTERN.matcher(projectIdStr).matches()) {
-                log.warn(INVALID_PROJECT_ID, lineNumber, projectIdStr);
-                return null;
+            var projectId = parseId(parts[1]);
+            if (projectId == INVALID_ID) {
+                rejections.warn(RejectReason.INVALID_PROJECT_ID, INVALID_PROJECT_ID, lineNumber, parts[1].toString().trim());
+                return false;
             }
-            var projectId = Integer.parseInt(projectIdStr);
 
-            // Parse dates with validation
-            var dateFrom = DateUtil.parseDate(parts[2].trim());
-            if (dateFrom == null) {
-                log.warn(INVALID_DATE_FROM, lineNumber, parts[2]);
-                return null;
-            }
-
-            var dateTo = DateUtil.parseDate(parts[3].trim());
-            if (dateTo == null) {
-                log.warn(INVALID_DATE_TO, lineNumber, parts[3]);
-                return null;
+            // Parse dates with validation, timing a sample of the rows
+            var timed = lineNumber % DATE_TIMING_SAMPLE_INTERVAL == 0;
+            var dateStart = timed ? System.nanoTime() : 0L;
+            var dateFrom = dateParser.parseEpochDay(DATE_FROM_COLUMN, parts[2]);
+            var dateTo = dateParser.parseEpochDay(DATE_TO_COLUMN, parts[3]);
+            if (timed) {
+                PipelineMetrics.get().record(Stage.DATES, (System.nanoTime() - dateStart) * DATE_TIMING_SAMPLE_INTERVAL);
             }
 
             // Validate date range
-            if (dateFrom.isAfter(dateTo)) {
-                log.warn(INVALID_DATE_RANGE, lineNumber, dateFrom, dateTo);
-                return null;
+            if (dateFrom > dateTo) {
+                rejections.warn(RejectReason.INVALID_DATE_RANGE, INVALID_DATE_RANGE, lineNumber, LocalDate.ofEpochDay(dateFrom), LocalDate.ofEpochDay(dateTo));
+                return false;
             }
 
-            return new EmployeeWorkDuration(empId, projectId, dateFrom, dateTo);
+            sink.add(empId, projectId, dateFrom, dateTo);
+            return true;
 
         } catch (NumberFormatException e) {
-            log.error(NUMBER_PARSING_ERROR, lineNumber, e.getMessage());
-            return null;
+            rejections.error(RejectReason.NUMBER_PARSING_ERROR, NUMBER_PARSING_ERROR, lineNumber, e.getMessage());
+            return false;
         } catch (DateParseException e) {
-            log.error(DATE_PARSING_ERROR, lineNumber, e.getMessage());
-            return null;
+            rejections.error(RejectReason.DATE_PARSING_ERROR, DATE_PARSING_ERROR, lineNumber, e.getMessage());
+            return false;
+        } catch (ArithmeticException e) {
+            rejections.warn(RejectReason.DATE_OUT_OF_RANGE, DATE_OUT_OF_RANGE, lineNumber, String.join(COMMA_DELIMITER, parts));
+            return false;
+        }
+    }
+
+    /**
+     * Parses a non-negative decimal id, ignoring surrounding whitespace. Returns {@link #INVALID_ID} if the value
+     * is not all digits (the same check as {@link #DIGIT_PATTERN}) and throws the usual
+     * {@link NumberFormatException} if it does not fit in an int.
+     */
+    private static int parseId(CharSequence value) {
+        var start = 0;
+        var end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return INVALID_ID;
+        }
+
+        var id = 0L;
+        for (var i = start; i < end; i++) {
+            var digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_ID;
+            }
+            id = id * 10 + digit;
+            if (id > Integer.MAX_VALUE) {
+                return Integer.parseInt(value.toString().trim());
+            }
         }
+        return (int) id;
     }
 }
@@ -0,0 +1,93 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.util.Constants.BITSET_MAX_WORDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitsetOverlapCalculatorTest {
+    private static final String HEADER = "EmpID,ProjectID,DateFrom,DateTo\n";
+    private static final LocalDate FIRST_DAY = LocalDate.of(1969, 11, 1);
+
+    @Test
+    void fitsUpToTheWordCap() {
+        var lastDayThatFits = (int) (BITSET_MAX_WORDS * Long.SIZE - 1);
+
+        assertTrue(BitsetOverlapCalculator.fits(timeline(0, lastDayThatFits)));
+        assertFalse(BitsetOverlapCalculator.fits(timeline(0, lastDayThatFits + 1)));
+        assertTrue(BitsetOverlapCalculator.fits(timeline(-lastDayThatFits - 1, -1)));
+        assertEquals(OverlapEngine.SWEEP_LINE, OverlapEngine.BITSET.forProject(timeline(0, lastDayThatFits + 1)));
+        assertEquals(OverlapEngine.SWEEP_LINE, OverlapEngine.ADAPTIVE.forProject(timeline(0, lastDayThatFits + 1)));
+    }
+
+    /**
+     * Periods that start and end on either side of the 64-day word boundaries, counted from the project's
+     * first day, which lies before the epoch.
+     */
+    @Test
+    void countsDaysAcrossWordBoundaries() {
+        var csv = new StringBuilder(HEADER);
+        var boundaries = new int[]{0, 62, 63, 64, 65, 127, 128, 129, 191, 192};
+        for (var i = 0; i < boundaries.length; i++) {
+            for (var j = i; j < boundaries.length; j++) {
+                csv.append(row(100 + i, 10, boundaries[i], boundaries[j]));
+            }
+        }
+        csv.append(row(1, 10, 0, 0)).append(row(1, 10, 63, 64)).append(row(1, 10, 128, 200));
+        var workDurations = parse(csv.toString());
+
+        var timeline = Main.buildProjectTimeline(workDurations, Main.groupWorkDurationsByProject(workDurations).get(0));
+        assertTrue(timeline.fromEpochDay(0) < 0);
+        assertEquals(OverlapEngine.BITSET, OverlapEngine.BITSET.forProject(timeline));
+        assertEquals(rank(workDurations, OverlapEngine.PAIRWISE), rank(workDurations, OverlapEngine.BITSET));
+    }
+
+    @Test
+    void adaptivePicksBitsetsForDenseProjectsAndTheSweepForSparseOnes() {
+        var csv = new StringBuilder(HEADER);
+        for (var employee = 0; employee < 50; employee++) {
+            csv.append(row(employee, 10, 0, 29));
+        }
+        for (var employee = 0; employee < 20; employee++) {
+            csv.append(row(employee, 11, employee * 3000, employee * 3000 + 3649));
+        }
+        var workDurations = parse(csv.toString());
+        var projects = Main.groupWorkDurationsByProject(workDurations);
+
+        var engines = new ArrayList<OverlapEngine>();
+        for (var rows : projects) {
+            engines.add(OverlapEngine.ADAPTIVE.forProject(Main.buildProjectTimeline(workDurations, rows)));
+        }
+        assertTrue(engines.contains(OverlapEngine.BITSET));
+        assertTrue(engines.contains(OverlapEngine.SWEEP_LINE));
+        assertEquals(rank(workDurations, OverlapEngine.PAIRWISE), rank(workDurations, OverlapEngine.ADAPTIVE));
+    }
+
+    private static ProjectTimeline timeline(int fromEpochDay, int toEpochDay) {
+        return new ProjectTimeline(10, new int[]{1}, new int[]{0, 1}, new int[]{fromEpochDay}, new int[]{toEpochDay});
+    }
+
+    private static String row(int empId, int projectId, int fromDay, int toDay) {
+        return empId + "," + projectId + "," + FIRST_DAY.plusDays(fromDay) + "," + FIRST_DAY.plusDays(toDay) + "\n";
+    }
+
+    private static List<String> rank(WorkDurationStore workDurations, OverlapEngine engine) {
+        var ranked = new ArrayList<String>();
+        Main.streamCollaborations(workDurations, Integer.MAX_VALUE, engine,
+                (score, projectIds, projectDays) -> ranked.add(score.emp1() + "-" + score.emp2() + ":" + score.totalDays()));
+        return ranked;
+    }
+
+    private static WorkDurationStore parse(String csv) {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.core;
+
+import org.example.metrics.Counter;
+import org.example.metrics.PipelineMetrics;
+import org.example.model.CollaborationResults;
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CollaborationResultCacheTest {
+    private static final String HEADER = "EmpID,ProjectID,DateFrom,DateTo\n";
+    private static final String ROWS = "1,10,2020-01-01,2020-01-10\n2,10,2020-01-05,2020-01-20\n";
+
+    private final CollaborationResultCache cache = new CollaborationResultCache(4, 1 << 20);
+
+    @Test
+    void answersTheSameRowsFromTheCache() {
+        var metrics = PipelineMetrics.get();
+        var hits = metrics.getCounter(Counter.RESULT_CACHE_HITS);
+        var misses = metrics.getCounter(Counter.RESULT_CACHE_MISSES);
+
+        var first = cache.getOrCompute(parse(ROWS), 1, OverlapEngine.SWEEP_LINE, CollaborationResults::new);
+        var second = cache.getOrCompute(parse(ROWS), 1, OverlapEngine.SWEEP_LINE, CollaborationResults::new);
+
+        assertSame(first, second);
+        assertEquals(hits + 1, metrics.getCounter(Counter.RESULT_CACHE_HITS));
+        assertEquals(misses + 1, metrics.getCounter(Counter.RESULT_CACHE_MISSES));
+    }
+
+    @Test
+    void keysRowsByEveryColumn() {
+        var results = cache.getOrCompute(parse(ROWS), 1, OverlapEngine.SWEEP_LINE, CollaborationResults::new);
+
+        assertNotSame(results, cache.getOrCompute(parse(ROWS.replace("2020-01-20", "2020-01-21")), 1,
+                OverlapEngine.SWEEP_LINE, CollaborationResults::new));
+        assertNotSame(results, cache.getOrCompute(parse(ROWS), 2, OverlapEngine.SWEEP_LINE, CollaborationResults::new));
+        assertNotSame(results, cache.getOrCompute(parse(ROWS), 1, OverlapEngine.PAIRWISE, CollaborationResults::new));
+    }
+
+    private static WorkDurationStore parse(String rows) {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+}
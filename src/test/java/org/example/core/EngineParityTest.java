@@ -0,0 +1,140 @@
+package org.example.core;
+
+import org.example.model.CollaborationSink;
+import org.example.model.PairScore;
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every engine, in memory and through the external sort, must rank the same pairs with the same days. The
+ * fixture has open-ended (NULL) periods, single-day periods, periods before and across 1970, employees with
+ * several periods on a project, a dense project that the adaptive engine gives to the bitsets and one project
+ * large enough to be split into slices by {@link ProjectScheduler}.
+ */
+class EngineParityTest {
+    private static final int TOP_K = 10;
+    private static final long MEMORY_BUDGET = 1 << 20;
+
+    private static final String HEADER = "EmpID,ProjectID,DateFrom,DateTo";
+    private static final List<String> HAND_WRITTEN_ROWS = List.of(
+            "1,10,2020-01-01,NULL",
+            "2,10,2023-05-01,NULL",
+            "3,10,2021-03-15,2021-03-15",
+            "4,10,2021-03-15,2021-03-15",
+            "5,12,2020-01-01,2020-01-31",
+            "6,12,2020-01-31,2020-01-31",
+            "7,13,1960-01-01,1980-01-01",
+            "7,13,1975-01-01,1976-01-01",
+            "8,13,1965-01-01,1965-01-10",
+            "9,13,1975-01-01,1975-01-10");
+
+    @TempDir
+    Path directory;
+
+    private Path input;
+
+    @BeforeEach
+    void writeInput() throws IOException {
+        var lines = new ArrayList<String>();
+        lines.add(HEADER);
+        lines.addAll(HAND_WRITTEN_ROWS);
+        lines.addAll(generatedRows());
+        input = directory.resolve("input.csv");
+        Files.write(input, lines);
+    }
+
+    @Test
+    void enginesRankTheSamePairs() throws IOException {
+        var workDurations = Main.parseCsvFile(input, 1);
+        var expected = rank(workDurations, OverlapEngine.PAIRWISE, Integer.MAX_VALUE);
+        assertTrue(expected.size() > TOP_K);
+
+        for (var engine : OverlapEngine.values()) {
+            assertEquals(expected, rank(workDurations, engine, Integer.MAX_VALUE), engine.name());
+            assertEquals(expected.subList(0, TOP_K), rank(workDurations, engine, TOP_K), engine.name());
+            assertEquals(expected, rankExternally(engine, Integer.MAX_VALUE), "external " + engine.name());
+            assertEquals(expected.subList(0, TOP_K), rankExternally(engine, TOP_K), "external " + engine.name());
+        }
+    }
+
+    @Test
+    void openEndedAndSingleDayPeriodsCountInclusiveDays() {
+        var ranked = rank(Main.parseCsvFile(input, 1), OverlapEngine.SWEEP_LINE, Integer.MAX_VALUE);
+        var openEnded = ChronoUnit.DAYS.between(LocalDate.of(2023, 5, 1), LocalDate.now()) + 1;
+
+        assertTrue(ranked.contains(format(1, 2, openEnded, "10:" + openEnded)));
+        assertTrue(ranked.contains(format(1, 3, 1, "10:1")));
+        assertTrue(ranked.contains(format(3, 4, 1, "10:1")));
+        assertTrue(ranked.contains(format(5, 6, 1, "12:1")));
+        assertTrue(ranked.contains(format(7, 8, 10, "13:10")));
+        assertTrue(ranked.contains(format(7, 9, 10, "13:10")));
+    }
+
+    private static List<String> rank(WorkDurationStore workDurations, OverlapEngine engine, int k) {
+        var ranked = new ArrayList<String>();
+        Main.streamCollaborations(workDurations, k, engine, collector(ranked));
+        return ranked;
+    }
+
+    private List<String> rankExternally(OverlapEngine engine, int k) throws IOException {
+        var ranked = new ArrayList<String>();
+        new ExternalCollaborationEngine(engine, MEMORY_BUDGET, directory, AnalysisProgress.NONE)
+                .streamCollaborations(List.of(input), k, collector(ranked));
+        return ranked;
+    }
+
+    private static CollaborationSink collector(List<String> ranked) {
+        return (score, projectIds, projectDays) -> ranked.add(format(score, projectIds, projectDays));
+    }
+
+    private static String format(PairScore score, int[] projectIds, long[] projectDays) {
+        var projects = new StringBuilder();
+        for (var i = 0; i < projectIds.length; i++) {
+            projects.append(i == 0 ? "" : ";").append(projectIds[i]).append(':').append(projectDays[i]);
+        }
+        return score.emp1() + "," + score.emp2() + "," + score.totalDays() + "," + score.maxOverlap() + "," + projects;
+    }
+
+    private static String format(int emp1, int emp2, long days, String projects) {
+        return emp1 + "," + emp2 + "," + days + "," + days + "," + projects;
+    }
+
+    /**
+     * One large project and many small ones over employees 100 and up, starting from 1960, with about one
+     * NULL end and one single-day period in every ten rows. The large project has about five periods per
+     * employee. Project 130 has forty employees on overlapping short periods around the start of 1970.
+     */
+    private static List<String> generatedRows() {
+        var random = new Random(42);
+        var start = LocalDate.of(1960, 1, 1);
+        var rows = new ArrayList<String>();
+        for (var project = 100; project < 130; project++) {
+            var rowCount = project == 100 ? 600 : 5 + random.nextInt(20);
+            for (var row = 0; row < rowCount; row++) {
+                var from = start.plusDays(random.nextInt(project == 100 ? 6000 : 24000));
+                var kind = random.nextInt(10);
+                var to = kind == 0 ? "NULL" : (kind == 1 ? from : from.plusDays(random.nextInt(400))).toString();
+                rows.add((100 + random.nextInt(120)) + "," + project + "," + from + "," + to);
+            }
+        }
+        for (var employee = 300; employee < 340; employee++) {
+            var from = LocalDate.of(1969, 12, 1).plusDays(random.nextInt(40));
+            rows.add(employee + ",130," + from + "," + from.plusDays(random.nextInt(60)));
+        }
+        return rows;
+    }
+}
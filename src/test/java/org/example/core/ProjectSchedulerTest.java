@@ -0,0 +1,96 @@
+package org.example.core;
+
+import org.example.model.EmployeePair;
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProjectSchedulerTest {
+    private static final int THREADS = 4;
+
+    @Test
+    void balancesSlicesByCost() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, ProjectScheduler.balance(new long[]{5, 5, 5, 5}, 4));
+        assertArrayEquals(new int[]{0, 1, 4}, ProjectScheduler.balance(new long[]{9, 1, 1, 1}, 2));
+        assertArrayEquals(new int[]{0, 2}, ProjectScheduler.balance(new long[]{1, 1}, 1));
+        assertArrayEquals(new int[]{0, 1}, ProjectScheduler.balance(new long[]{7}, 3));
+
+        var boundaries = ProjectScheduler.balance(new long[]{100, 1, 1, 1, 1, 1, 1, 1}, 4);
+        assertEquals(0, boundaries[0]);
+        assertEquals(8, boundaries[boundaries.length - 1]);
+        for (var i = 1; i < boundaries.length; i++) {
+            assertTrue(boundaries[i - 1] < boundaries[i]);
+        }
+    }
+
+    /**
+     * One project far above the target cost, split into slices, next to small projects batched together.
+     * Every engine must add up to the overlaps of the projects computed one by one.
+     */
+    @Test
+    void splitProjectsAddUpToWholeProjects() throws Exception {
+        var workDurations = parse(rows());
+        var projects = Main.groupWorkDurationsByProject(workDurations);
+        assertTrue(ProjectScheduler.estimateCost(projects.get(0).length) > 4 * (1 << 16));
+
+        for (var engine : new OverlapEngine[]{OverlapEngine.PAIRWISE, OverlapEngine.SWEEP_LINE,
+                OverlapEngine.BITSET, OverlapEngine.ADAPTIVE}) {
+            var expected = new PairProjectOverlapMap();
+            for (var rows : projects) {
+                Main.processOneProject(workDurations, rows, expected, engine);
+            }
+
+            var pool = new ForkJoinPool(THREADS);
+            try {
+                var scheduled = pool.submit(() -> new ProjectScheduler(workDurations, engine, AnalysisProgress.NONE)
+                        .calculateOverlaps(projects)).get();
+                assertEquals(overlaps(expected), overlaps(scheduled), engine.name());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static Map<String, Long> overlaps(PairProjectOverlapMap overlaps) {
+        var byPairAndProject = new TreeMap<String, Long>();
+        overlaps.forEach((pairKey, projectId, days) -> {
+            var pair = EmployeePair.fromKey(pairKey);
+            byPairAndProject.merge(pair.getEmp1() + "-" + pair.getEmp2() + "@" + projectId, days, Long::sum);
+        });
+        return byPairAndProject;
+    }
+
+    /**
+     * Project 1 has 1500 rows over 300 employees, so most employees have several periods, some of them
+     * before 1970; projects 2 to 40 have a handful of rows each.
+     */
+    private static String rows() {
+        var random = new Random(7);
+        var start = LocalDate.of(1965, 1, 1);
+        var csv = new StringBuilder("EmpID,ProjectID,DateFrom,DateTo\n");
+        for (var project = 1; project <= 40; project++) {
+            var rowCount = project == 1 ? 1500 : 3 + random.nextInt(10);
+            for (var row = 0; row < rowCount; row++) {
+                var from = start.plusDays(random.nextInt(4000));
+                csv.append(random.nextInt(300)).append(',').append(project).append(',')
+                        .append(from).append(',').append(from.plusDays(random.nextInt(300))).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+
+    private static WorkDurationStore parse(String csv) {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.core;
+
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectTimelineTest {
+    private static final String PRE_1970_INPUT = """
+            EmpID,ProjectID,DateFrom,DateTo
+            1,10,1960-01-01,1980-01-01
+            1,10,1975-01-01,1976-01-01
+            2,10,1965-01-01,1965-01-10
+            """;
+
+    @Test
+    void packedIntervalsSortByStartThenEnd() {
+        int[][] intervals = {{5, 9}, {-3650, -100}, {-3650, -3000}, {0, -1}, {-1, 0}};
+        var packed = new long[intervals.length];
+        for (var i = 0; i < intervals.length; i++) {
+            packed[i] = Main.packInterval(intervals[i][0], intervals[i][1]);
+        }
+        Arrays.sort(packed);
+
+        var unpacked = new ArrayList<String>();
+        for (var interval : packed) {
+            unpacked.add(Main.unpackFrom(interval) + ".." + Main.unpackTo(interval));
+        }
+        assertEquals(List.of("-3650..-3000", "-3650..-100", "-1..0", "0..-1", "5..9"), unpacked);
+    }
+
+    @Test
+    void mergesIntervalsBeforeTheEpoch() {
+        var workDurations = parse(PRE_1970_INPUT);
+        var timeline = Main.buildProjectTimeline(workDurations, Main.groupWorkDurationsByProject(workDurations).get(0));
+
+        assertEquals(2, timeline.intervalCount());
+        assertEquals(1, timeline.intervalEnd(0) - timeline.intervalStart(0));
+        assertEquals(epochDay("1960-01-01"), timeline.fromEpochDay(timeline.intervalStart(0)));
+        assertEquals(epochDay("1980-01-01"), timeline.toEpochDay(timeline.intervalStart(0)));
+    }
+
+    @Test
+    void pairwiseAndBitsetCountOverlapsBeforeTheEpoch() {
+        var workDurations = parse(PRE_1970_INPUT);
+        for (var engine : List.of(OverlapEngine.PAIRWISE, OverlapEngine.BITSET)) {
+            var days = new ArrayList<Long>();
+            Main.streamCollaborations(workDurations, 1, engine,
+                    (score, projectIds, projectDays) -> days.add(score.totalDays()));
+            assertArrayEquals(new Object[]{10L}, days.toArray(), engine.name());
+        }
+    }
+
+    private static WorkDurationStore parse(String csv) {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static int epochDay(String date) {
+        return Math.toIntExact(LocalDate.parse(date).toEpochDay());
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.core;
+
+import org.example.model.EmployeePair;
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SweepLineOverlapCalculatorTest {
+    private static final String PRE_1970_INPUT = """
+            EmpID,ProjectID,DateFrom,DateTo
+            1,10,1960-01-01,1980-01-01
+            2,10,1975-01-01,1975-01-10
+            3,10,1969-12-25,1970-01-05
+            4,10,1950-06-01,1969-12-31
+            """;
+
+    @Test
+    void visitsIntervalsBeforeTheEpochFirst() {
+        var timeline = timeline(parse(PRE_1970_INPUT));
+        var order = SweepLineOverlapCalculator.startOrder(timeline);
+
+        for (var position = 1; position < order.length; position++) {
+            assertTrue(timeline.fromEpochDay(order[position - 1]) <= timeline.fromEpochDay(order[position]));
+        }
+    }
+
+    @Test
+    void countsOverlapsBeforeTheEpoch() {
+        var overlaps = overlaps(SweepLineOverlapCalculator.calculateOverlaps(timeline(parse(PRE_1970_INPUT))));
+
+        assertEquals(Map.of("1-2", 10L, "1-3", 12L, "1-4", 3653L, "3-4", 7L), overlaps);
+    }
+
+    @Test
+    void defaultEnginesAgreeWithPairwiseBeforeTheEpoch() {
+        var workDurations = parse(PRE_1970_INPUT);
+        var expected = rank(workDurations, OverlapEngine.PAIRWISE);
+
+        assertEquals(expected, rank(workDurations, OverlapEngine.SWEEP_LINE));
+        assertEquals(expected, rank(workDurations, OverlapEngine.ADAPTIVE));
+    }
+
+    @Test
+    void slicesAddUpToTheFullSweep() {
+        var timeline = timeline(parse(PRE_1970_INPUT));
+        var owner = SweepLineOverlapCalculator.owners(timeline);
+        var order = SweepLineOverlapCalculator.startOrder(timeline);
+
+        var sliced = new TreeMap<String, Long>();
+        for (var position = 0; position < order.length; position++) {
+            overlaps(SweepLineOverlapCalculator.calculateOverlaps(timeline, owner, order, position, position + 1))
+                    .forEach((pair, days) -> sliced.merge(pair, days, Long::sum));
+        }
+        assertEquals(overlaps(SweepLineOverlapCalculator.calculateOverlaps(timeline)), sliced);
+    }
+
+    private static Map<String, Long> overlaps(PairProjectOverlapMap overlaps) {
+        var byPair = new TreeMap<String, Long>();
+        overlaps.forEach((pairKey, projectId, days) -> {
+            var pair = EmployeePair.fromKey(pairKey);
+            byPair.merge(pair.getEmp1() + "-" + pair.getEmp2(), days, Long::sum);
+        });
+        return byPair;
+    }
+
+    private static List<String> rank(WorkDurationStore workDurations, OverlapEngine engine) {
+        var ranked = new ArrayList<String>();
+        Main.streamCollaborations(workDurations, Integer.MAX_VALUE, engine,
+                (score, projectIds, projectDays) -> ranked.add(score.emp1() + "-" + score.emp2() + ":" + score.totalDays()));
+        return ranked;
+    }
+
+    private static ProjectTimeline timeline(WorkDurationStore workDurations) {
+        return Main.buildProjectTimeline(workDurations, Main.groupWorkDurationsByProject(workDurations).get(0));
+    }
+
+    private static WorkDurationStore parse(String csv) {
+        return Main.parseCsvContentToStore(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
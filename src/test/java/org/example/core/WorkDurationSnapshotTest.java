@@ -0,0 +1,110 @@
+package org.example.core;
+
+import org.example.model.CollaborationResults;
+import org.example.model.WorkDurationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkDurationSnapshotTest {
+    private static final int TOP_K = 3;
+    private static final String INPUT = """
+            EmpID,ProjectID,DateFrom,DateTo
+            1,10,2020-01-01,NULL
+            2,10,2021-06-01,2022-06-01
+            3,10,2021-03-15,2021-03-15
+            1,11,2019-01-01,2019-12-31
+            3,11,2019-06-01,2020-06-01
+            4,12,2018-01-01,2018-02-01
+            5,12,2018-01-15,2018-01-15
+            """;
+
+    @TempDir
+    Path directory;
+
+    private Path source;
+    private WorkDurationStore workDurations;
+
+    @BeforeEach
+    void parseInput() throws IOException {
+        source = directory.resolve("input.csv");
+        Files.writeString(source, INPUT);
+        workDurations = Main.parseCsvFile(source, 1);
+    }
+
+    @Test
+    void loadsTheSavedRowsAndResults() throws IOException {
+        var results = Main.collectCollaborations(workDurations, TOP_K, OverlapEngine.SWEEP_LINE);
+        WorkDurationSnapshot.of(source, workDurations, LocalDate.now()).withResults(results, TOP_K).save();
+
+        var loaded = WorkDurationSnapshot.load(source).orElseThrow();
+        assertEquals(rows(workDurations), rows(loaded.getWorkDurations()));
+        assertEquals(LocalDate.now(), loaded.getNullDate());
+        assertEquals(replay(results, TOP_K), replay(loaded.getResults(TOP_K).orElseThrow(), TOP_K));
+        assertEquals(replay(results, 1), replay(loaded.getResults(1).orElseThrow(), TOP_K));
+        assertTrue(loaded.getResults(TOP_K + 1).isEmpty());
+    }
+
+    @Test
+    void loadsRowsWithoutResults() throws IOException {
+        WorkDurationSnapshot.of(source, workDurations, null).save();
+
+        var loaded = WorkDurationSnapshot.load(source).orElseThrow();
+        assertEquals(rows(workDurations), rows(loaded.getWorkDurations()));
+        assertNull(loaded.getNullDate());
+        assertTrue(loaded.getResults(TOP_K).isEmpty());
+    }
+
+    @Test
+    void ignoresNullDatesResolvedOnAnotherDay() throws IOException {
+        WorkDurationSnapshot.of(source, workDurations, LocalDate.now().minusDays(1)).save();
+
+        assertTrue(WorkDurationSnapshot.load(source).isEmpty());
+    }
+
+    @Test
+    void ignoresChangedSource() throws IOException {
+        WorkDurationSnapshot.of(source, workDurations, LocalDate.now()).save();
+        Files.writeString(source, "6,12,2018-01-20,2018-01-21\n", StandardOpenOption.APPEND);
+
+        assertTrue(WorkDurationSnapshot.load(source).isEmpty());
+    }
+
+    @Test
+    void isNotWrittenUnlessEnabled() {
+        Main.loadWorkDurations(source, 1, AnalysisProgress.NONE);
+        Main.analyzeFile(source, TOP_K, OverlapEngine.SWEEP_LINE, 1, AnalysisProgress.NONE);
+
+        assertFalse(Files.exists(WorkDurationSnapshot.snapshotPathFor(source)));
+    }
+
+    private static List<String> rows(WorkDurationStore workDurations) {
+        var rows = new ArrayList<String>();
+        for (var i = 0; i < workDurations.size(); i++) {
+            rows.add(workDurations.getEmpId(i) + "," + workDurations.getProjectId(i) + ","
+                    + workDurations.getFromEpochDay(i) + "," + workDurations.getToEpochDay(i));
+        }
+        return rows;
+    }
+
+    private static List<String> replay(CollaborationResults results, int limit) {
+        var pairs = new ArrayList<String>();
+        results.replay((score, projectIds, projectDays) -> pairs.add(score + Arrays.toString(projectIds)
+                + Arrays.toString(projectDays)), limit);
+        return pairs;
+    }
+}
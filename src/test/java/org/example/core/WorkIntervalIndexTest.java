@@ -0,0 +1,70 @@
+package org.example.core;
+
+import org.example.model.EmployeeWorkDuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkIntervalIndexTest {
+    private static final String INPUT = """
+            EmpID,ProjectID,DateFrom,DateTo
+            1,10,1960-01-01,1980-01-01
+            1,10,1975-01-01,1976-01-01
+            2,10,1975-01-01,1975-01-10
+            3,10,1969-12-25,1970-01-05
+            4,11,1950-06-01,1969-12-31
+            1,11,1965-01-01,1965-12-31
+            5,11,2001-01-01,2001-12-31
+            """;
+
+    private WorkIntervalIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        index = WorkIntervalIndex.build(
+                Main.parseCsvContentToStore(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void mergesIntervalsPerEmployeeAndProject() {
+        assertEquals(6, index.getIntervalCount());
+        assertEquals(2, index.getProjectCount());
+        assertEquals(5, index.getEmployeeCount());
+        assertEquals(List.of("1,10,1960-01-01,1980-01-01", "1,11,1965-01-01,1965-12-31"),
+                format(index.getAssignments(1)));
+    }
+
+    @Test
+    void findsActiveIntervalsBeforeTheEpoch() {
+        assertEquals(List.of("4,11,1950-06-01,1969-12-31", "1,10,1960-01-01,1980-01-01", "1,11,1965-01-01,1965-12-31"),
+                format(index.findActive(LocalDate.of(1965, 6, 1))));
+        assertEquals(List.of("4,11,1950-06-01,1969-12-31", "1,10,1960-01-01,1980-01-01", "3,10,1969-12-25,1970-01-05"),
+                format(index.findActive(LocalDate.of(1969, 12, 31))));
+        assertEquals(List.of("1,10,1960-01-01,1980-01-01", "3,10,1969-12-25,1970-01-05", "2,10,1975-01-01,1975-01-10"),
+                format(index.findActive(10, null, LocalDate.of(1975, 1, 1))));
+        assertEquals(List.of("5,11,2001-01-01,2001-12-31"), format(index.findActive(LocalDate.of(1990, 1, 1), null)));
+    }
+
+    @Test
+    void findsCollaboratorsBeforeTheEpoch() {
+        var collaborators = new ArrayList<String>();
+        index.findCollaborators(1, LocalDate.of(1960, 1, 1), LocalDate.of(1975, 12, 31), Integer.MAX_VALUE,
+                (score, projectIds, projectDays) -> collaborators.add(score.emp1() + "-" + score.emp2() + ":" + score.totalDays()));
+
+        assertEquals(List.of("1-4:365", "1-3:12", "1-2:10"), collaborators);
+    }
+
+    private static List<String> format(List<EmployeeWorkDuration> intervals) {
+        return intervals.stream()
+                .map(interval -> interval.getEmpId() + "," + interval.getProjectId() + ","
+                        + interval.getDateFrom() + "," + interval.getDateTo())
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.server;
+
+import org.example.core.OverlapEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollaborationServerTest {
+    private static final long MAX_UPLOAD_BYTES = 4 << 10;
+    private static final String HEADER = "EmpID,ProjectID,DateFrom,DateTo\n";
+    private static final String ROWS = "1,10,2020-01-01,2020-01-10\n2,10,2020-01-05,2020-01-20\n";
+
+    private CollaborationServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new CollaborationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1,
+                MAX_UPLOAD_BYTES, OverlapEngine.SWEEP_LINE);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void analysesCompressedUploads() throws Exception {
+        var response = post(gzip(HEADER + ROWS));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"emp1\":1"), response.body());
+    }
+
+    @Test
+    void refusesCompressedUploadsThatInflatePastTheLimit() throws Exception {
+        var csv = new StringBuilder(HEADER);
+        while (csv.length() <= 4 * MAX_UPLOAD_BYTES) {
+            csv.append(ROWS);
+        }
+        var body = gzip(csv.toString());
+        assertTrue(body.length < MAX_UPLOAD_BYTES);
+
+        assertEquals(413, post(body).statusCode());
+    }
+
+    private HttpResponse<String> post(byte[] body) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/analyze"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] gzip(String csv) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}